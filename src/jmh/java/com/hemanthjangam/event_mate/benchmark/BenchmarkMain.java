@@ -0,0 +1,32 @@
+package com.hemanthjangam.event_mate.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON to
+ * {@code target/jmh/results.json} unless another result file is given. Any
+ * JMH option can be passed, for example a benchmark name pattern.
+ *
+ * <pre>
+ * mvn -Pjmh spring-boot:test-run -Dspring-boot.run.arguments="Mapping -p size=100"
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rff")) {
+            Path results = Path.of("target", "jmh", "results.json");
+            Files.createDirectories(results.getParent());
+            options.addAll(List.of("-rf", "json", "-rff", results.toString()));
+        }
+        org.openjdk.jmh.Main.main(options.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,121 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.repository.EventSectionRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat availability responses for one show of a 900-seat IMAX hall, from
+ * the service call to the JSON bytes: the per-section bitsets, rebuilt from
+ * the seat projection or served from the inventory cache, against the legacy
+ * list of booked seat labels. Repositories answer from memory, so database
+ * time, including the section loads behind the labels, is not part of the
+ * score. The payload size of each response is printed during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+
+    @Param({"50", "100"})
+    private int fillPercent;
+
+    private ObjectMapper objectMapper;
+    private BookingService bookingService;
+    private SeatInventoryService snapshotInventory;
+    private SeatInventoryService cachedInventory;
+    private Long eventId;
+    private LocalDateTime showDate;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Event event = BenchmarkFixtures.events(1).get(0);
+        eventId = event.getId();
+        showDate = LocalDateTime.of(2026, 11, 5, 18, 0);
+
+        Random random = new Random(42);
+        List<Ticket> tickets = new ArrayList<>();
+        List<SeatCoordinate> seats = new ArrayList<>();
+        for (EventSection section : event.getSections()) {
+            for (int row = 1; row <= section.getRows(); row++) {
+                for (int col = 1; col <= section.getCols(); col++) {
+                    if (random.nextInt(100) < fillPercent) {
+                        tickets.add(Ticket.builder().event(event).section(section).showDate(showDate)
+                                .rowNumber(row).colNumber(col).status(Ticket.TicketStatus.BOOKED).build());
+                        seats.add(new SeatCoordinate(section.getId(), row, col));
+                    }
+                }
+            }
+        }
+        TicketRepository ticketRepository = BenchmarkFixtures.repository(TicketRepository.class, Map.of(
+                "findByEvent_IdAndShowDateAndStatusIn", tickets,
+                "findSeatCoordinates", seats));
+        EventSectionRepository sectionRepository = BenchmarkFixtures.repository(EventSectionRepository.class,
+                Map.of("findByEvent_Id", event.getSections()));
+
+        bookingService = BenchmarkFixtures.withoutDependencies(BookingService.class);
+        ReflectionTestUtils.setField(bookingService, "ticketRepository", ticketRepository);
+        snapshotInventory = inventory(ticketRepository, sectionRepository, false);
+        cachedInventory = inventory(ticketRepository, sectionRepository, true);
+
+        System.out.printf("%n%d of 900 seats taken: booked seat labels %d bytes, bitsets %d bytes%n", seats.size(),
+                bookedSeats().length, cachedAvailability().length);
+    }
+
+    @Benchmark
+    public byte[] bookedSeats() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingService.getBookedSeats(eventId, showDate));
+    }
+
+    @Benchmark
+    public byte[] snapshotAvailability() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshotInventory.getAvailability(eventId, showDate));
+    }
+
+    @Benchmark
+    public byte[] cachedAvailability() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cachedInventory.getAvailability(eventId, showDate));
+    }
+
+    private static SeatInventoryService inventory(TicketRepository ticketRepository,
+            EventSectionRepository sectionRepository, boolean enabled) {
+        SeatInventoryService inventory = new SeatInventoryService(ticketRepository, sectionRepository,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(inventory, "enabled", enabled);
+        ReflectionTestUtils.setField(inventory, "refreshAfter", Duration.ofHours(1));
+        ReflectionTestUtils.setField(inventory, "expireAfterAccess", Duration.ofHours(1));
+        inventory.init();
+        return inventory;
+    }
+}
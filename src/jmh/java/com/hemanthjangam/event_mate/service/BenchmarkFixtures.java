@@ -0,0 +1,162 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.entity.Booking;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
+import com.hemanthjangam.event_mate.entity.Role;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.entity.User;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalogue and booking entities shaped like production data, built in memory
+ * so benchmarks measure mapping and serialisation without a database.
+ */
+final class BenchmarkFixtures {
+
+    private static final String DESCRIPTION = "A mind-bending heist thriller where a thief who steals corporate "
+            + "secrets through dream-sharing technology is given the inverse task of planting an idea into the mind "
+            + "of a CEO. Shot on IMAX film with a sweeping score and practical effects, it rewards a second viewing "
+            + "and plays best on the largest screen you can find. Recommended for audiences twelve and over.";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a service through its generated constructor with every
+     * dependency left null; only dependency-free methods may be called on it.
+     */
+    static <T> T withoutDependencies(Class<T> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            return type.cast(constructor.newInstance(new Object[constructor.getParameterCount()]));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + type.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Creates a repository that answers the named query methods with fixed
+     * results and fails on any other call.
+     */
+    static <T> T repository(Class<T> type, Map<String, Object> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (!answers.containsKey(method.getName())) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answers.get(method.getName());
+        }));
+    }
+
+    static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = Event.builder()
+                    .id((long) i + 1)
+                    .title("Event " + i)
+                    .description(DESCRIPTION)
+                    .venue("PVR IMAX, Bengaluru")
+                    .startDate(LocalDate.of(2026, 11, 1))
+                    .endDate(LocalDate.of(2026, 11, 30))
+                    .showTimes(List.of(LocalTime.of(10, 0), LocalTime.of(14, 0), LocalTime.of(18, 0),
+                            LocalTime.of(21, 30)))
+                    .price(BigDecimal.valueOf(450))
+                    .imageUrl("https://cdn.example.com/posters/" + i + ".jpg")
+                    .category(i % 3 == 0 ? "Concert" : "Movie")
+                    .trailerUrl("https://video.example.com/trailers/" + i)
+                    .mediaUrls(List.of("https://cdn.example.com/stills/" + i + "-1.jpg",
+                            "https://cdn.example.com/stills/" + i + "-2.jpg",
+                            "https://cdn.example.com/stills/" + i + "-3.jpg"))
+                    .duration(148)
+                    .censorRating("UA")
+                    .groupId("group-" + i / 4)
+                    .imdbRating(8.8)
+                    .movieMode(i % 2 == 0 ? "IMAX" : "2D")
+                    .cast(List.of("Leonardo DiCaprio", "Joseph Gordon-Levitt", "Elliot Page", "Tom Hardy",
+                            "Ken Watanabe", "Cillian Murphy"))
+                    .build();
+            event.setSections(List.of(section(event, 1, "IMAX VIP", 675, 5), section(event, 2, "IMAX Premium", 550, 10),
+                    section(event, 3, "IMAX Standard", 450, 15)));
+            events.add(event);
+        }
+        return events;
+    }
+
+    static List<Booking> bookings(int count, int ticketsPerBooking) {
+        Event event = events(1).get(0);
+        EventSection section = event.getSections().get(2);
+        LocalDateTime showDate = LocalDateTime.of(2026, 11, 5, 18, 0);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = User.builder()
+                    .id((long) i + 1)
+                    .name("Customer " + i)
+                    .email("customer" + i + "@example.com")
+                    .role(Role.CUSTOMER)
+                    .build();
+            Booking booking = Booking.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .event(event)
+                    .bookingDate(showDate.minusDays(3))
+                    .showDate(showDate)
+                    .paymentStatus(PaymentStatus.COMPLETED)
+                    .totalAmount(section.getPrice().multiply(BigDecimal.valueOf(ticketsPerBooking)))
+                    .build();
+            List<Ticket> tickets = new ArrayList<>(ticketsPerBooking);
+            for (int t = 0; t < ticketsPerBooking; t++) {
+                tickets.add(ticket(event, section, booking, showDate, 1 + i % section.getRows(), 1 + t));
+            }
+            booking.setTickets(tickets);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    static List<Ticket> tickets(int count) {
+        Event event = events(1).get(0);
+        EventSection section = event.getSections().get(2);
+        LocalDateTime showDate = LocalDateTime.of(2026, 11, 5, 18, 0);
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(ticket(event, section, null, showDate, 1 + i / 30 % section.getRows(), 1 + i % 30));
+        }
+        return tickets;
+    }
+
+    private static EventSection section(Event event, long id, String name, int price, int rows) {
+        return EventSection.builder()
+                .id(id)
+                .name(name)
+                .price(BigDecimal.valueOf(price))
+                .rows(rows)
+                .cols(30)
+                .event(event)
+                .build();
+    }
+
+    private static Ticket ticket(Event event, EventSection section, Booking booking, LocalDateTime showDate, int row,
+            int col) {
+        return Ticket.builder()
+                .event(event)
+                .booking(booking)
+                .section(section)
+                .showDate(showDate)
+                .rowNumber(row)
+                .colNumber(col)
+                .seatNo(BookingService.seatLabel(section.getName(), row, col))
+                .price(section.getPrice())
+                .status(Ticket.TicketStatus.BOOKED)
+                .build();
+    }
+}
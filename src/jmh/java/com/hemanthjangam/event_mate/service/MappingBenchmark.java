@@ -0,0 +1,81 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.EventDto;
+import com.hemanthjangam.event_mate.entity.Booking;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on the catalogue and booking history paths, at list
+ * sizes from a single page to a full catalogue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int size;
+
+    private EventService eventService;
+    private BookingService bookingService;
+    private List<Event> events;
+    private List<Booking> bookings;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        eventService = BenchmarkFixtures.withoutDependencies(EventService.class);
+        bookingService = BenchmarkFixtures.withoutDependencies(BookingService.class);
+        events = BenchmarkFixtures.events(size);
+        bookings = BenchmarkFixtures.bookings(size, 4);
+        tickets = BenchmarkFixtures.tickets(size);
+    }
+
+    @Benchmark
+    public List<EventDto> eventToDto() {
+        List<EventDto> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(eventService.mapToDto(event));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<BookingDto.BookingResponse> bookingToResponse() {
+        List<BookingDto.BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            responses.add(bookingService.mapToResponse(booking));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<String> seatLabels() {
+        List<String> labels = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            labels.add(BookingService.seatLabel(ticket.getSection().getName(), ticket.getRowNumber(),
+                    ticket.getColNumber()));
+        }
+        return labels;
+    }
+}
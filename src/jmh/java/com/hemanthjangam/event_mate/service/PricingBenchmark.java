@@ -0,0 +1,102 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.config.JwtService;
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.PricingDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Seat pricing and quote signing, with occupancy fixed so only the rule
+ * evaluation and token work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    private static final String RULES = """
+            [
+              {"name": "last-minute", "maxHoursToShow": 6, "multiplier": 0.9},
+              {"name": "filling-up", "minOccupancy": 0.5, "maxOccupancy": 0.8, "multiplier": 1.1},
+              {"name": "nearly-full", "minOccupancy": 0.8, "multiplier": 1.25},
+              {"name": "front-rows", "sections": ["IMAX Standard"], "maxRow": 3, "adjustment": -50},
+              {"name": "vip-surcharge", "sections": ["IMAX VIP"], "adjustment": 75},
+              {"name": "early-bird", "minHoursToShow": 168, "multiplier": 0.85}
+            ]
+            """;
+
+    private PricingRules rules;
+    private PricingService pricingService;
+    private Event event;
+    private LocalDateTime showDate;
+    private Map<Long, EventSection> sections;
+    private List<BookingDto.TicketRequest> tickets;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "YmVuY2htYXJrLW9ubHktc2lnbmluZy1rZXktbm90LWZvci1wcm9kdWN0aW9uLXVzZQ==");
+        SeatInventoryService inventory = new SeatInventoryService(null, null, null) {
+            @Override
+            public double occupancyRatio(Long eventId, LocalDateTime showDate) {
+                return 0.62;
+            }
+        };
+        pricingService = new PricingService(inventory, jwtService, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pricingService, "quoteTtl", Duration.ofMinutes(10));
+        pricingService.init();
+
+        rules = pricingService.compile(RULES);
+        event = BenchmarkFixtures.events(1).get(0);
+        event.setPricingRules(RULES);
+        showDate = LocalDateTime.now().plusDays(2);
+        sections = event.getSections().stream().collect(Collectors.toMap(EventSection::getId, Function.identity()));
+        tickets = List.of(ticket(3L, 2, 10), ticket(3L, 2, 11), ticket(3L, 2, 12), ticket(3L, 2, 13));
+    }
+
+    @Benchmark
+    public BigDecimal priceSeat() {
+        return rules.price(BigDecimal.valueOf(450), "IMAX Standard", 2, 0.62, 48);
+    }
+
+    @Benchmark
+    public List<BigDecimal> livePrices() {
+        return pricingService.livePrices(event, showDate, sections, tickets);
+    }
+
+    @Benchmark
+    public PricingDto.QuoteResponse quote() {
+        return pricingService.quote(event, showDate, sections, tickets, "customer@example.com");
+    }
+
+    private static BookingDto.TicketRequest ticket(Long sectionId, int row, int col) {
+        return BookingDto.TicketRequest.builder().sectionId(sectionId).row(row).col(col).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Best-available allocation on three 30x30 IMAX-style sections whose seats are
+ * taken in fragmented patterns. The checkerboard leaves no two adjacent seats,
+ * so every party larger than one falls back to a split allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeatAllocationBenchmark {
+
+    private static final int SIZE = 30;
+
+    @Param({"scattered-50", "scattered-90", "pairs", "checkerboard"})
+    private String occupancy;
+
+    @Param({"2", "4", "8"})
+    private int quantity;
+
+    private Map<Long, SeatBitmap> sections;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        sections = new LinkedHashMap<>();
+        for (long id = 1; id <= 3; id++) {
+            SeatBitmap bitmap = new SeatBitmap(SIZE, SIZE);
+            for (int row = 1; row <= SIZE; row++) {
+                for (int col = 1; col <= SIZE; col++) {
+                    if (taken(random, row, col)) {
+                        bitmap.set(row, col);
+                    }
+                }
+            }
+            sections.put(id, bitmap);
+        }
+    }
+
+    @Benchmark
+    public List<SeatCoordinate> allocate() {
+        return SeatAllocator.allocate(sections, quantity);
+    }
+
+    private boolean taken(Random random, int row, int col) {
+        return switch (occupancy) {
+            case "scattered-50" -> random.nextDouble() < 0.5;
+            case "scattered-90" -> random.nextDouble() < 0.9;
+            // Free pairs between taken triples, offset per row
+            case "pairs" -> (col + row) % 5 >= 2;
+            case "checkerboard" -> (row + col) % 2 == 0;
+            default -> throw new IllegalArgumentException("Unknown occupancy: " + occupancy);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import java.time.Instant;
+
+/**
+ * Outcome of one bulk booking benchmark run. Latencies are in milliseconds for
+ * one whole block; warm-up blocks are not counted.
+ */
+public record BulkBookingReport(String label, Instant startedAt, Settings settings, double durationSeconds,
+        long blocksBooked, long seatsBooked, long failures, double seatsPerSecond, double p50Millis,
+        double p90Millis, double p99Millis, double maxMillis, DatabaseStats database) {
+
+    public record Settings(int blocks, int warmup, int blockSeats, int cols, int jdbcBatchSize, String seatLocking) {
+    }
+
+    /**
+     * Prepared statements and transactions come from Hibernate statistics.
+     * JDBC batches and single statement executions are counted separately, so
+     * a block whose tickets were not batched shows up as about one execution
+     * per seat.
+     */
+    public record DatabaseStats(long preparedStatements, long jdbcBatches, long statementExecutions,
+            long transactions, double statementsPerBlock, double batchesPerBlock) {
+    }
+}
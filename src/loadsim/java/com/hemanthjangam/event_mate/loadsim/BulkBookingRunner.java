@@ -0,0 +1,182 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.Role;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.entity.User;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import com.hemanthjangam.event_mate.repository.UserRepository;
+import com.hemanthjangam.event_mate.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Seeds one show with a section per block and books the blocks one after the
+ * other through the admin bulk booking path, each as a whole-section
+ * selection of {@code loadsim.bulk.block-seats} seats.
+ */
+@Component
+@RequiredArgsConstructor
+class BulkBookingRunner {
+
+    private static final LocalTime SHOW_TIME = LocalTime.of(20, 0);
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final BookingService bookingService;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Environment environment;
+
+    @Value("${loadsim.label:local}")
+    private String label;
+
+    @Value("${loadsim.bulk.blocks:50}")
+    private int blocks;
+
+    @Value("${loadsim.bulk.warmup:5}")
+    private int warmup;
+
+    @Value("${loadsim.bulk.block-seats:1000}")
+    private int blockSeats;
+
+    @Value("${loadsim.bulk.cols:50}")
+    private int cols;
+
+    BulkBookingReport run() {
+        if (blockSeats % cols != 0) {
+            throw new IllegalArgumentException("loadsim.bulk.block-seats must be a multiple of loadsim.bulk.cols.");
+        }
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Event event = seedEvent(runId, warmup + blocks);
+        LocalDateTime showDate = LocalDateTime.of(event.getStartDate(), SHOW_TIME);
+        User customer = seedCustomer(runId);
+        List<EventSection> sections = event.getSections();
+
+        for (int i = 0; i < warmup; i++) {
+            book(event, showDate, customer, sections.get(i));
+        }
+        long seatsBefore = bookedSeats(event, showDate);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JdbcCounters.clear();
+        Instant startedAt = Instant.now();
+        long[] nanos = new long[blocks];
+        long failures = 0;
+        long began = System.nanoTime();
+        for (int i = 0; i < blocks; i++) {
+            long begin = System.nanoTime();
+            if (!book(event, showDate, customer, sections.get(warmup + i))) {
+                failures++;
+            }
+            nanos[i] = System.nanoTime() - begin;
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+        long prepared = statistics.getPrepareStatementCount();
+        long transactions = statistics.getTransactionCount();
+        long batches = JdbcCounters.batches();
+        long executions = JdbcCounters.statements();
+
+        long seatsBooked = bookedSeats(event, showDate) - seatsBefore;
+        long blocksBooked = blocks - failures;
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return new BulkBookingReport(label, startedAt,
+                new BulkBookingReport.Settings(blocks, warmup, blockSeats, cols,
+                        environment.getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", Integer.class, 0),
+                        environment.getProperty("app.booking.advisory-locks.enabled", Boolean.class, false)
+                                ? "advisory" : "unique-index"),
+                seconds, blocksBooked, seatsBooked, failures, seconds > 0 ? seatsBooked / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                new BulkBookingReport.DatabaseStats(prepared, batches, executions, transactions,
+                        blocksBooked == 0 ? 0 : (double) prepared / blocksBooked,
+                        blocksBooked == 0 ? 0 : (double) batches / blocksBooked));
+    }
+
+    /**
+     * Books every seat of the section and returns whether that worked.
+     */
+    private boolean book(Event event, LocalDateTime showDate, User customer, EventSection section) {
+        try {
+            bookingService.createBulkBooking(BookingDto.BulkBookingRequest.builder()
+                    .eventId(event.getId())
+                    .showDate(showDate)
+                    .customerEmail(customer.getEmail())
+                    .sectionIds(List.of(section.getId()))
+                    .build());
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Bulk booking of " + section.getName() + " failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private long bookedSeats(Event event, LocalDateTime showDate) {
+        return ticketRepository.findSeatCoordinates(event.getId(), showDate,
+                EnumSet.of(Ticket.TicketStatus.BOOKED)).size();
+    }
+
+    private Event seedEvent(String runId, int sectionCount) {
+        LocalDate day = LocalDate.now().plusDays(1);
+        Event event = Event.builder()
+                .title("Bulk booking simulation " + runId)
+                .venue("Simulation Hall")
+                .category("Simulation")
+                .startDate(day)
+                .endDate(day)
+                .showTimes(List.of(SHOW_TIME))
+                .price(BigDecimal.valueOf(100))
+                .build();
+        List<EventSection> sections = new ArrayList<>(sectionCount);
+        for (int i = 0; i < sectionCount; i++) {
+            sections.add(EventSection.builder()
+                    .name("Block " + (i + 1))
+                    .price(BigDecimal.valueOf(100))
+                    .rows(blockSeats / cols)
+                    .cols(cols)
+                    .event(event)
+                    .build());
+        }
+        event.setSections(sections);
+        return eventRepository.save(event);
+    }
+
+    private User seedCustomer(String runId) {
+        return userRepository.save(User.builder()
+                .name("Bulk customer")
+                .email("bulk-" + runId + "@loadsim.local")
+                .passwordHash(passwordEncoder.encode("loadsim-password"))
+                .role(Role.CUSTOMER)
+                .build());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import java.nio.file.Path;
+
+/**
+ * Measures admin bulk booking of 1,000-seat blocks, so changes to ticket id
+ * allocation and JDBC batching can be compared between runs.
+ *
+ * <pre>
+ * mvn -Ploadsim spring-boot:test-run -Dloadsim.main=com.hemanthjangam.event_mate.loadsim.BulkBookingSimulation
+ * </pre>
+ */
+public final class BulkBookingSimulation {
+
+    private BulkBookingSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSimApplication.run(args, context -> {
+            BulkBookingReport report = context.getBean(BulkBookingRunner.class).run();
+            Path file = LoadSimApplication.writeReport(context, "bulk-" + report.label(), report);
+            System.out.printf("%nBulk booking (%d blocks of %d seats, batch size %d): %.0f seats/s, "
+                            + "block p50 %.1f ms, p99 %.1f ms, %d failed, %.1f statements and %.1f JDBC batches "
+                            + "per block%nReport: %s%n",
+                    report.settings().blocks(), report.settings().blockSeats(), report.settings().jdbcBatchSize(),
+                    report.seatsPerSecond(), report.p50Millis(), report.p99Millis(), report.failures(),
+                    report.database().statementsPerBlock(), report.database().batchesPerBlock(),
+                    file.toAbsolutePath());
+        });
+    }
+}
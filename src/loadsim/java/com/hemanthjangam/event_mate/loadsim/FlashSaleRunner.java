@@ -0,0 +1,356 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.config.JwtService;
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.Role;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.entity.User;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.exception.ConflictException;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import com.hemanthjangam.event_mate.repository.UserRepository;
+import com.hemanthjangam.event_mate.service.BookingLaneService;
+import com.hemanthjangam.event_mate.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds one show and its buyers, then releases every client at once. Each
+ * client tries to hold a run of adjacent seats in the hot rows of the show and
+ * pays for a share of the holds it wins, either by calling the services
+ * directly or through the HTTP API.
+ */
+@Component
+@RequiredArgsConstructor
+class FlashSaleRunner {
+
+    private static final LocalTime SHOW_TIME = LocalTime.of(20, 0);
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final BookingLaneService bookingLaneService;
+    private final BookingService bookingService;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${loadsim.label:local}")
+    private String label;
+
+    @Value("${loadsim.mode:service}")
+    private String mode;
+
+    @Value("${loadsim.clients:2000}")
+    private int clients;
+
+    @Value("${loadsim.rows:20}")
+    private int rows;
+
+    @Value("${loadsim.cols:50}")
+    private int cols;
+
+    @Value("${loadsim.seats-per-booking:2}")
+    private int seatsPerBooking;
+
+    @Value("${loadsim.hot-fraction:0.2}")
+    private double hotFraction;
+
+    @Value("${loadsim.confirm-ratio:0.8}")
+    private double confirmRatio;
+
+    @Value("${loadsim.seed:42}")
+    private long seed;
+
+    private HttpClient httpClient;
+
+    SimulationReport run() throws InterruptedException {
+        boolean http = "http".equalsIgnoreCase(mode);
+        if (http) {
+            httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Event event = seedEvent(runId);
+        LocalDateTime showDate = LocalDateTime.of(event.getStartDate(), SHOW_TIME);
+        List<User> buyers = seedBuyers(runId);
+
+        Recorder creates = new Recorder(clients);
+        Recorder confirms = new Recorder(clients);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        double indexConflictsBefore = meterRegistry.counter("booking.seat-index.conflicts").count();
+
+        CountDownLatch start = new CountDownLatch(1);
+        Instant startedAt = Instant.now();
+        long began;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    runClient(client, buyers.get(client), event, showDate, http, creates, confirms);
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        long seatsSold = ticketRepository.findSeatCoordinates(event.getId(), showDate,
+                EnumSet.of(Ticket.TicketStatus.BOOKED)).size();
+        SimulationReport.DatabaseStats database = new SimulationReport.DatabaseStats(
+                statistics.getPrepareStatementCount(),
+                statistics.getTransactionCount(),
+                statistics.getTransactionCount() - statistics.getSuccessfulTransactionCount(),
+                (long) (meterRegistry.counter("booking.seat-index.conflicts").count() - indexConflictsBefore),
+                statistics.getEntityLoadCount(),
+                statistics.getQueryExecutionCount(),
+                creates.succeeded.get() == 0 ? 0
+                        : (double) statistics.getPrepareStatementCount() / creates.succeeded.get());
+        return new SimulationReport(label, http ? "http" : "service", startedAt,
+                new SimulationReport.Settings(clients, rows, cols, seatsPerBooking, hotFraction, confirmRatio, seed,
+                        seatLocking()),
+                seconds, creates.stats(seconds), confirms.stats(seconds), seatsSold, database);
+    }
+
+    private String seatLocking() {
+        if (environment.getProperty("app.booking.lanes.enabled", Boolean.class, false)) {
+            return "lanes";
+        }
+        return environment.getProperty("app.booking.advisory-locks.enabled", Boolean.class, false)
+                ? "advisory" : "unique-index";
+    }
+
+    /**
+     * One buyer: try to hold seats and, if that worked, maybe pay for them.
+     */
+    private void runClient(int client, User buyer, Event event, LocalDateTime showDate, boolean http,
+            Recorder creates, Recorder confirms) {
+        Random random = new Random(seed + client);
+        int hotRows = Math.max(1, (int) Math.round(rows * hotFraction));
+        int row = 1 + random.nextInt(hotRows);
+        int firstCol = 1 + random.nextInt(Math.max(1, cols - seatsPerBooking + 1));
+        List<BookingDto.TicketRequest> tickets = new ArrayList<>(seatsPerBooking);
+        for (int col = firstCol; col < firstCol + seatsPerBooking && col <= cols; col++) {
+            tickets.add(BookingDto.TicketRequest.builder()
+                    .sectionId(event.getSections().get(0).getId())
+                    .row(row)
+                    .col(col)
+                    .build());
+        }
+        BookingDto.BookingRequest request = BookingDto.BookingRequest.builder()
+                .eventId(event.getId())
+                .showDate(showDate)
+                .tickets(tickets)
+                .build();
+        boolean pay = random.nextDouble() < confirmRatio;
+        String token = http ? jwtService.generateToken(buyer) : null;
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(buyer.getEmail(), null,
+                        buyer.getAuthorities()));
+        try {
+            Long bookingId = creates.time(client, () -> http ? createOverHttp(request, token) : createDirect(request));
+            if (bookingId != null && pay) {
+                confirms.time(client, () -> {
+                    if (http) {
+                        confirmOverHttp(bookingId, token);
+                    } else {
+                        bookingService.confirmBookingPayment(bookingId, "CARD");
+                    }
+                    return bookingId;
+                });
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Long createDirect(BookingDto.BookingRequest request) {
+        return bookingLaneService.createBooking(request).getBookingId();
+    }
+
+    private Long createOverHttp(BookingDto.BookingRequest request, String token) throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/bookings"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request)))
+                .build());
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("bookingId").asLong();
+    }
+
+    private void confirmOverHttp(Long bookingId, String token) throws Exception {
+        send(HttpRequest.newBuilder(uri("/api/bookings/" + bookingId + "/confirm?paymentMethod=CARD"))
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    /**
+     * Sends a request and maps error statuses onto the exceptions the service
+     * path would have thrown, so both modes are classified alike. Under this
+     * workload a 400 from booking means the seats were taken.
+     */
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        if (status == 409) {
+            throw new ConflictException(response.body());
+        }
+        if (status == 400) {
+            throw new BadRequestException(response.body());
+        }
+        if (status >= 300) {
+            throw new IllegalStateException("HTTP " + status + ": " + response.body());
+        }
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + environment.getProperty("local.server.port") + path);
+    }
+
+    private Event seedEvent(String runId) {
+        LocalDate day = LocalDate.now().plusDays(1);
+        Event event = Event.builder()
+                .title("Load simulation " + runId)
+                .venue("Simulation Hall")
+                .category("Simulation")
+                .startDate(day)
+                .endDate(day)
+                .showTimes(List.of(SHOW_TIME))
+                .price(BigDecimal.valueOf(100))
+                .build();
+        event.setSections(List.of(EventSection.builder()
+                .name("Floor")
+                .price(BigDecimal.valueOf(100))
+                .rows(rows)
+                .cols(cols)
+                .event(event)
+                .build()));
+        return eventRepository.save(event);
+    }
+
+    /**
+     * Creates one customer per client, sharing a single password hash so
+     * seeding does not spend minutes in BCrypt.
+     */
+    private List<User> seedBuyers(String runId) {
+        String passwordHash = passwordEncoder.encode("loadsim-password");
+        List<User> buyers = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            buyers.add(User.builder()
+                    .name("Buyer " + i)
+                    .email("buyer-" + runId + "-" + i + "@loadsim.local")
+                    .passwordHash(passwordHash)
+                    .role(Role.CUSTOMER)
+                    .build());
+        }
+        return userRepository.saveAll(buyers);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Long call() throws Exception;
+    }
+
+    /**
+     * Latencies of one operation, one slot per client, plus outcome counts.
+     */
+    private static final class Recorder {
+        private final long[] nanos;
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+        private final AtomicLong lockConflicts = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        private Recorder(int clients) {
+            nanos = new long[clients];
+            Arrays.fill(nanos, -1);
+        }
+
+        /**
+         * Runs the operation and returns its result, or null when it failed.
+         */
+        private Long time(int client, Operation operation) {
+            long begin = System.nanoTime();
+            try {
+                Long result = operation.call();
+                succeeded.incrementAndGet();
+                return result;
+            } catch (ConflictException e) {
+                conflicts.incrementAndGet();
+                lockConflicts.incrementAndGet();
+                return null;
+            } catch (BadRequestException e) {
+                conflicts.incrementAndGet();
+                return null;
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                return null;
+            } finally {
+                nanos[client] = System.nanoTime() - begin;
+            }
+        }
+
+        private SimulationReport.OperationStats stats(double seconds) {
+            long[] recorded = Arrays.stream(nanos).filter(value -> value >= 0).sorted().toArray();
+            long attempts = recorded.length;
+            return new SimulationReport.OperationStats(attempts, succeeded.get(), conflicts.get(), lockConflicts.get(),
+                    errors.get(), seconds > 0 ? succeeded.get() / seconds : 0,
+                    attempts == 0 ? 0 : (double) conflicts.get() / attempts,
+                    percentile(recorded, 0.50), percentile(recorded, 0.90), percentile(recorded, 0.99),
+                    recorded.length == 0 ? 0 : recorded[recorded.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+
+/**
+ * Reproduces an on-sale rush: thousands of virtual-thread clients compete for
+ * the seats of one show through the real booking path, with Stripe and email
+ * replaced by fakes. Runs against an embedded Postgres unless
+ * {@code --loadsim.database=external} is given, in which case the usual
+ * {@code SPRING_DATASOURCE_*} settings apply. Any application property can be
+ * overridden on the command line, for example to enable booking lanes or
+ * advisory locks. With {@code --loadsim.baseline} pointing at an earlier
+ * report, the run is printed side by side with it.
+ *
+ * <pre>
+ * mvn -Ploadsim spring-boot:test-run -Dspring-boot.run.arguments="--loadsim.clients=5000 --loadsim.label=v2"
+ * </pre>
+ */
+public final class FlashSaleSimulation {
+
+    private FlashSaleSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSimApplication.run(args, context -> {
+            SimulationReport report = context.getBean(FlashSaleRunner.class).run();
+            Path file = LoadSimApplication.writeReport(context, "loadsim-" + report.label(), report);
+            System.out.printf("%nFlash sale (%s, %d clients): %.1f bookings/s, create p50 %.1f ms, p99 %.1f ms, "
+                            + "conflict rate %.1f%%, %d seats sold, %.1f statements per booking%nReport: %s%n",
+                    report.mode(), report.settings().clients(), report.createBooking().throughputPerSecond(),
+                    report.createBooking().p50Millis(), report.createBooking().p99Millis(),
+                    report.createBooking().conflictRate() * 100, report.seatsSold(),
+                    report.database().statementsPerBooking(), file.toAbsolutePath());
+            String baseline = context.getEnvironment().getProperty("loadsim.baseline");
+            if (baseline != null) {
+                printComparison(context.getBean(ObjectMapper.class)
+                        .readValue(Path.of(baseline).toFile(), SimulationReport.class), report);
+            }
+        });
+    }
+
+    private static void printComparison(SimulationReport baseline, SimulationReport report) {
+        String header = baseline.label() + " (" + baseline.settings().seatLocking() + ")";
+        String current = report.label() + " (" + report.settings().seatLocking() + ")";
+        System.out.printf("%n%-28s %22s %22s%n", "", header, current);
+        compare("bookings/s", baseline.createBooking().throughputPerSecond(),
+                report.createBooking().throughputPerSecond());
+        compare("create p50 ms", baseline.createBooking().p50Millis(), report.createBooking().p50Millis());
+        compare("create p99 ms", baseline.createBooking().p99Millis(), report.createBooking().p99Millis());
+        compare("conflicts", baseline.createBooking().conflicts(), report.createBooking().conflicts());
+        compare("lock conflicts", baseline.createBooking().lockConflicts(), report.createBooking().lockConflicts());
+        compare("seats sold", baseline.seatsSold(), report.seatsSold());
+        compare("rolled back transactions", baseline.database().rolledBackTransactions(),
+                report.database().rolledBackTransactions());
+        compare("seat index conflicts", baseline.database().seatIndexConflicts(),
+                report.database().seatIndexConflicts());
+        compare("statements per booking", baseline.database().statementsPerBooking(),
+                report.database().statementsPerBooking());
+    }
+
+    private static void compare(String metric, double baseline, double current) {
+        System.out.printf("%-28s %22.1f %22.1f%n", metric, baseline, current);
+    }
+}
@@ -0,0 +1,47 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts JDBC executions across all sessions. Hibernate statistics only count
+ * prepared statements, which hides whether inserts actually went out in
+ * batches; this listener is registered for every session through
+ * {@code hibernate.session.events.auto}.
+ */
+public class JdbcCounters implements SessionEventListener {
+
+    private static final AtomicLong BATCHES = new AtomicLong();
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        BATCHES.incrementAndGet();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        STATEMENTS.incrementAndGet();
+    }
+
+    static void clear() {
+        BATCHES.set(0);
+        STATEMENTS.set(0);
+    }
+
+    /**
+     * Batches executed since the last {@link #clear()}.
+     */
+    static long batches() {
+        return BATCHES.get();
+    }
+
+    /**
+     * Statements executed one by one, outside a batch, since the last
+     * {@link #clear()}.
+     */
+    static long statements() {
+        return STATEMENTS.get();
+    }
+}
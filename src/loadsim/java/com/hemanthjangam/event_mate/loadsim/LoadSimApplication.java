@@ -0,0 +1,79 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hemanthjangam.event_mate.EventMateApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts the application for a simulation, on an embedded Postgres unless
+ * {@code --loadsim.database=external} is given, and writes its reports.
+ */
+final class LoadSimApplication {
+
+    private LoadSimApplication() {
+    }
+
+    interface Scenario {
+        void run(ConfigurableApplicationContext context) throws Exception;
+    }
+
+    static void run(String[] args, Scenario scenario) throws Exception {
+        boolean external = Arrays.asList(args).contains("--loadsim.database=external");
+        EmbeddedPostgres postgres = external ? null : EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .start();
+        try {
+            Map<String, Object> defaults = new HashMap<>();
+            if (postgres != null) {
+                defaults.put("SPRING_DATASOURCE_URL", postgres.getJdbcUrl("postgres", "postgres"));
+            }
+            // Only used to sign tokens inside this process
+            defaults.put("JWT_SECRET", "bG9hZHNpbS1vbmx5LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZHVjdGlvbi11c2U=");
+            // application.properties reads these through placeholders, so they are set by placeholder name
+            defaults.put("SERVER_PORT", "0");
+            defaults.put("SPRING_JPA_SHOW_SQL", "false");
+            defaults.put("LOG_LEVEL_APP", "WARN");
+            defaults.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+            defaults.put("spring.jpa.properties.hibernate.session.events.auto", JdbcCounters.class.getName());
+            defaults.put("spring.datasource.hikari.maximum-pool-size", "50");
+            defaults.put("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "WARN");
+
+            SpringApplication application = new SpringApplication(EventMateApplication.class);
+            application.setDefaultProperties(defaults);
+            try (ConfigurableApplicationContext context = application.run(args)) {
+                scenario.run(context);
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the report as indented JSON under {@code loadsim.report-dir} and
+     * returns the file.
+     */
+    static Path writeReport(ConfigurableApplicationContext context, String name, Object report) throws Exception {
+        Path directory = Path.of(context.getEnvironment().getProperty("loadsim.report-dir", "target/loadsim"));
+        Files.createDirectories(directory);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = directory.resolve(name + "-" + stamp + ".json");
+        context.getBean(ObjectMapper.class).copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValue(file.toFile(), report);
+        return file;
+    }
+}
@@ -0,0 +1,92 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import com.hemanthjangam.event_mate.service.EmailService;
+import com.hemanthjangam.event_mate.service.StripeService;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.Refund;
+import com.stripe.model.checkout.Session;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline stand-ins for the external services, so a simulation never talks to
+ * Stripe or an SMTP server.
+ */
+@Configuration
+public class LoadSimConfiguration {
+
+    @Bean
+    @Primary
+    FakeStripeService fakeStripeService() {
+        return new FakeStripeService();
+    }
+
+    @Bean
+    @Primary
+    FakeEmailService fakeEmailService() {
+        return new FakeEmailService();
+    }
+
+    /**
+     * Accepts every payment, checkout and refund without calling Stripe.
+     */
+    static class FakeStripeService extends StripeService {
+        final AtomicLong refunds = new AtomicLong();
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public PaymentIntent createPaymentIntent(BigDecimal amount, String currency) {
+            PaymentIntent intent = new PaymentIntent();
+            intent.setId("pi_loadsim_" + UUID.randomUUID());
+            intent.setClientSecret("secret_loadsim");
+            return intent;
+        }
+
+        @Override
+        public Session createCheckoutSession(Long bookingId, BigDecimal amount, String currency, String successUrl,
+                String cancelUrl, LocalDateTime holdExpiresAt) {
+            return getCheckoutSession("cs_loadsim_" + bookingId);
+        }
+
+        @Override
+        public Session getCheckoutSession(String sessionId) {
+            Session session = new Session();
+            session.setId(sessionId);
+            session.setPaymentStatus("paid");
+            session.setPaymentIntent("pi_loadsim_" + sessionId);
+            session.setUrl("http://localhost/loadsim/checkout/" + sessionId);
+            return session;
+        }
+
+        @Override
+        public Refund createRefund(String paymentIntentId, BigDecimal amount, String idempotencyKey) {
+            refunds.incrementAndGet();
+            return new Refund();
+        }
+    }
+
+    /**
+     * Drops every email and counts it.
+     */
+    static class FakeEmailService extends EmailService {
+        final AtomicLong sent = new AtomicLong();
+
+        FakeEmailService() {
+            super(null);
+        }
+
+        @Override
+        public void sendEmail(String to, String subject, String body) {
+            sent.incrementAndGet();
+        }
+    }
+}
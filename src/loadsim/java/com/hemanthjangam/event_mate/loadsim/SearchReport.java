@@ -0,0 +1,21 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Outcome of one search benchmark run, overall and per query shape. Latencies
+ * are in milliseconds for the whole service call, query and DTO mapping of up
+ * to one page of results. Seeding times include the triggers that maintain
+ * the search documents.
+ */
+public record SearchReport(String label, Instant startedAt, Settings settings, double seedEventsSeconds,
+        double seedCastSeconds, Latency overall, Map<String, Latency> byShape, boolean searchIndexUsed) {
+
+    public record Settings(int events, int castPerEvent, int queries, int warmup, long seed) {
+    }
+
+    public record Latency(long queries, double averageResults, double p50Millis, double p90Millis,
+            double p99Millis, double maxMillis) {
+    }
+}
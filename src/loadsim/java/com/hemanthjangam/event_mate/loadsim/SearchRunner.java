@@ -0,0 +1,218 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import com.hemanthjangam.event_mate.service.EventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds a large catalogue with generated titles, cast, venues and
+ * descriptions, then times text searches of the shapes users type. The cast
+ * is added in one statement, which also times the trigger that rebuilds the
+ * search documents.
+ */
+@Component
+@RequiredArgsConstructor
+class SearchRunner {
+
+    private static final String[] SYLLABLES = {"ka", "ri", "mo", "lan", "de", "vi", "so", "ra", "ne", "tor",
+            "pa", "li", "an", "sha", "go", "mer", "ti", "bo", "ven", "ku", "el", "dra", "si", "hu"};
+    private static final String[] VENUE_TYPES = {"imax", "arena", "theatre", "stadium", "multiplex", "club"};
+    private static final String[] CITIES = {"bangalore", "mumbai", "delhi", "chennai", "hyderabad", "pune",
+            "kolkata", "jaipur", "ahmedabad", "lucknow", "kochi", "indore", "goa", "mysore", "surat", "nagpur"};
+    private static final String[] CATEGORIES = {"Movies", "Concerts", "Comedy", "Sports", "Theatre"};
+    private static final int BATCH_SIZE = 1000;
+    // A city alone matches far more events than the other shapes
+    private static final String[] SHAPES = {"name", "title-and-city", "name-venue-typing", "city"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventService eventService;
+
+    @Value("${loadsim.label:local}")
+    private String label;
+
+    @Value("${loadsim.search.events:100000}")
+    private int events;
+
+    @Value("${loadsim.search.cast-per-event:3}")
+    private int castPerEvent;
+
+    @Value("${loadsim.search.queries:2000}")
+    private int queries;
+
+    @Value("${loadsim.search.warmup:200}")
+    private int warmup;
+
+    @Value("${loadsim.seed:42}")
+    private long seed;
+
+    private String[] titleWords;
+    private String[] names;
+    private String[] descriptionWords;
+
+    SearchReport run() {
+        Random random = new Random(seed);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Instant startedAt = Instant.now();
+        // Vocabularies sized so a word matches tens to hundreds of events, as in a real catalogue
+        titleWords = words(random, 3000);
+        names = words(random, 2000);
+        descriptionWords = words(random, 8000);
+
+        long lastEventId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM events", Long.class);
+        long began = System.nanoTime();
+        seedEvents(runId, random);
+        double eventSeconds = (System.nanoTime() - began) / 1e9;
+        began = System.nanoTime();
+        seedCast(lastEventId);
+        double castSeconds = (System.nanoTime() - began) / 1e9;
+        // The cast trigger rewrote every seeded row; clean up as autovacuum would before measuring
+        jdbcTemplate.execute("VACUUM ANALYZE events");
+
+        List<String> texts = new ArrayList<>(warmup + queries);
+        for (int i = 0; i < warmup + queries; i++) {
+            texts.add(query(random, i));
+        }
+        for (String text : texts.subList(0, warmup)) {
+            eventService.searchEventsByText(text, null, null);
+        }
+        long[] nanos = new long[queries];
+        long[] results = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            String text = texts.get(warmup + i);
+            long begin = System.nanoTime();
+            results[i] = eventService.searchEventsByText(text, null, null).size();
+            nanos[i] = System.nanoTime() - begin;
+        }
+
+        Map<String, SearchReport.Latency> byShape = new LinkedHashMap<>();
+        for (int shape = 0; shape < SHAPES.length; shape++) {
+            int first = Math.floorMod(shape - warmup, SHAPES.length);
+            byShape.put(SHAPES[shape], latency(nanos, results, first, SHAPES.length));
+        }
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM events WHERE search_vector @@ to_tsquery('english', 'nolan:* & imax:*')",
+                String.class));
+        return new SearchReport(label, startedAt,
+                new SearchReport.Settings(events, castPerEvent, queries, warmup, seed),
+                eventSeconds, castSeconds, latency(nanos, results, 0, 1), byShape,
+                plan.contains("idx_events_search_vector"));
+    }
+
+    /**
+     * Inserts the events in batches; the insert trigger builds each search
+     * document. Half of the events come in groups of four shows.
+     */
+    private void seedEvents(String runId, Random random) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < events; i++) {
+            String title = capitalize(pick(random, titleWords)) + " " + capitalize(pick(random, titleWords));
+            String venue = capitalize(pick(random, names)) + " " + capitalize(pick(random, VENUE_TYPES))
+                    + ", " + capitalize(pick(random, CITIES));
+            StringBuilder description = new StringBuilder();
+            for (int word = 0; word < 24; word++) {
+                description.append(word > 0 ? " " : "").append(pick(random, descriptionWords));
+            }
+            Date startDate = Date.valueOf(today.plusDays(random.nextInt(180)));
+            batch.add(new Object[] {title, description.toString(), venue, startDate, startDate,
+                    BigDecimal.valueOf(100 + random.nextInt(900)), pick(random, CATEGORIES),
+                    i < events / 2 ? "loadsim-search-" + runId + "-" + i / 4 : null});
+            if (batch.size() == BATCH_SIZE || i == events - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO events (title, description, venue, start_date, end_date, price, "
+                        + "category, group_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds the cast of every seeded event in one statement, so the cast
+     * trigger rebuilds all their search documents in a single pass.
+     */
+    private void seedCast(long lastEventId) {
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement("INSERT INTO event_cast (event_id, cast_name) "
+                    + "SELECT e.id, names.first[1 + (e.id * 7919 + k * 31) % cardinality(names.first)] || ' ' "
+                    + "|| names.last[1 + (e.id * 104729 + k * 17) % cardinality(names.last)] "
+                    + "FROM events e CROSS JOIN generate_series(1, ?) AS k "
+                    + "CROSS JOIN (SELECT CAST(? AS TEXT[]) AS first, CAST(? AS TEXT[]) AS last) names "
+                    + "WHERE e.id > ?");
+            statement.setInt(1, castPerEvent);
+            statement.setArray(2, connection.createArrayOf("text", names));
+            statement.setArray(3, connection.createArrayOf("text", names));
+            statement.setLong(4, lastEventId);
+            return statement;
+        });
+    }
+
+    private String query(Random random, int index) {
+        return switch (index % SHAPES.length) {
+            case 0 -> pick(random, names);
+            case 1 -> pick(random, titleWords) + " " + pick(random, CITIES);
+            case 2 -> {
+                String typing = pick(random, CITIES);
+                yield pick(random, names) + " " + pick(random, VENUE_TYPES) + " "
+                        + typing.substring(0, 1 + random.nextInt(typing.length()));
+            }
+            default -> pick(random, CITIES);
+        };
+    }
+
+    private static String[] words(Random random, int count) {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+                word.append(pick(random, SYLLABLES));
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    /**
+     * Latency of every {@code step}-th query from {@code first} on.
+     */
+    private static SearchReport.Latency latency(long[] nanos, long[] results, int first, int step) {
+        List<Long> selected = new ArrayList<>();
+        long found = 0;
+        for (int i = first; i < nanos.length; i += step) {
+            selected.add(nanos[i]);
+            found += results[i];
+        }
+        long[] sorted = selected.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new SearchReport.Latency(sorted.length, sorted.length == 0 ? 0 : (double) found / sorted.length,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,36 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import java.nio.file.Path;
+
+/**
+ * Measures full-text event search on a large catalogue, 100k events unless
+ * {@code --loadsim.search.events} says otherwise.
+ *
+ * <pre>
+ * mvn -Ploadsim spring-boot:test-run -Dloadsim.main=com.hemanthjangam.event_mate.loadsim.SearchSimulation
+ * </pre>
+ */
+public final class SearchSimulation {
+
+    private SearchSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSimApplication.run(args, context -> {
+            SearchReport report = context.getBean(SearchRunner.class).run();
+            Path file = LoadSimApplication.writeReport(context, "search-" + report.label(), report);
+            System.out.printf("%nSearch (%d events, GIN index %s; seeding %.1f s, cast trigger %.1f s)%n",
+                    report.settings().events(), report.searchIndexUsed() ? "used" : "NOT used",
+                    report.seedEventsSeconds(), report.seedCastSeconds());
+            print("overall", report.overall());
+            report.byShape().forEach(SearchSimulation::print);
+            System.out.printf("Report: %s%n", file.toAbsolutePath());
+        });
+    }
+
+    private static void print(String shape, SearchReport.Latency latency) {
+        System.out.printf("%-20s p50 %7.2f ms  p90 %7.2f ms  p99 %7.2f ms  max %7.2f ms  %5.1f results%n", shape,
+                latency.p50Millis(), latency.p90Millis(), latency.p99Millis(), latency.maxMillis(),
+                latency.averageResults());
+    }
+}
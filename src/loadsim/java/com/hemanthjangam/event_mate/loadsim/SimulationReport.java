@@ -0,0 +1,39 @@
+package com.hemanthjangam.event_mate.loadsim;
+
+import java.time.Instant;
+
+/**
+ * Machine-readable outcome of one simulation run, written as JSON so runs of
+ * different versions can be diffed.
+ */
+public record SimulationReport(String label, String mode, Instant startedAt, Settings settings,
+        double durationSeconds, OperationStats createBooking, OperationStats confirmPayment, long seatsSold,
+        DatabaseStats database) {
+
+    /**
+     * The seat locking strategy is {@code unique-index}, {@code advisory} or
+     * {@code lanes}, taken from the application settings of the run.
+     */
+    public record Settings(int clients, int rows, int cols, int seatsPerBooking, double hotFraction,
+            double confirmRatio, long seed, String seatLocking) {
+    }
+
+    /**
+     * Latencies are in milliseconds; the conflict rate is conflicts over
+     * attempts. Lock conflicts are the subset rejected with 409 before any
+     * seat was checked.
+     */
+    public record OperationStats(long attempts, long succeeded, long conflicts, long lockConflicts, long errors,
+            double throughputPerSecond, double conflictRate, double p50Millis, double p90Millis, double p99Millis,
+            double maxMillis) {
+    }
+
+    /**
+     * Hibernate statistics for the run window, background jobs included, and
+     * the bookings that reached the database only to fail on the unique seat
+     * index.
+     */
+    public record DatabaseStats(long statements, long transactions, long rolledBackTransactions,
+            long seatIndexConflicts, long entityLoads, long queryExecutions, double statementsPerBooking) {
+    }
+}
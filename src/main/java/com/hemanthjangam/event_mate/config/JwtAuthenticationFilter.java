@@ -28,7 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
         String path = request.getRequestURI();
-        return path.startsWith("/api/ai/chat") || path.startsWith("/error");
+        return path.startsWith("/api/ai/chat") || path.startsWith("/api/waiting-room/status")
+                || path.startsWith("/error");
     }
 
     /**
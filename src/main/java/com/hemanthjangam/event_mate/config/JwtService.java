@@ -18,6 +18,8 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    static final String SCOPE_CLAIM = "scope";
+
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
 
@@ -67,25 +69,42 @@ public class JwtService {
     }
 
     /**
-     * Validates that the token belongs to the expected user and is still active.
+     * Generates a short-lived token that is only accepted for the given scope,
+     * such as waiting-room queue positions and admission passes.
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public String generateScopedToken(String subject, String scope, Map<String, Object> claims, long expiration) {
+        Map<String, Object> scopedClaims = new HashMap<>(claims);
+        scopedClaims.put(SCOPE_CLAIM, scope);
+        return Jwts.builder()
+                .setClaims(scopedClaims)
+                .setSubject(subject)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .compact();
     }
 
     /**
-     * Checks whether the token expiry timestamp has passed.
+     * Verifies a scoped token and returns its claims, or throws when the
+     * signature, expiry or scope does not match.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Claims parseScopedToken(String token, String scope) {
+        Claims claims = extractAllClaims(token);
+        if (!scope.equals(claims.get(SCOPE_CLAIM, String.class))) {
+            throw new IllegalArgumentException("Token is not valid for " + scope);
+        }
+        return claims;
     }
 
     /**
-     * Reads the expiry claim from the token body.
+     * Validates that the token belongs to the expected user and is still active.
+     * Scoped tokens never authenticate a user.
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        final Claims claims = extractAllClaims(token);
+        return claims.get(SCOPE_CLAIM) == null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date());
     }
 
     /**
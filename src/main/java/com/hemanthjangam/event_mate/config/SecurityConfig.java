@@ -54,10 +54,14 @@ public class SecurityConfig {
                                 "/api/events/**",
                                 "/api/reviews/event/**",
                                 "/api/bookings/event/*/seats",
+                                "/api/bookings/event/*/availability",
+                                "/api/bookings/event/*/stream",
                                 "/api/ai/chat",
+                                "/api/waiting-room/status",
+                                "/actuator/health",
                                 "/error")
                         .permitAll()
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/seating-layouts/**",
                                 "/api/ai/recommendations",
                                 "/api/payments/**",
@@ -86,7 +90,10 @@ public class SecurityConfig {
                 .filter(origin -> !origin.isEmpty())
                 .toList());
         configuration.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(java.util.List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(java.util.List.of("Authorization", "Content-Type", "X-Queue-Token",
+                "X-Admission-Pass", "If-None-Match", "Idempotency-Key"));
+        configuration.setExposedHeaders(java.util.List.of("ETag", "Idempotent-Replayed", "X-Next-Cursor",
+                "X-Total-Count"));
         configuration.setAllowCredentials(true);
         org.springframework.web.cors.UrlBasedCorsConfigurationSource source = new org.springframework.web.cors.UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,11 +1,18 @@
 package com.hemanthjangam.event_mate.controller;
 
 import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.SectionSales;
 import com.hemanthjangam.event_mate.service.BookingService;
+import com.hemanthjangam.event_mate.service.CancellationService;
+import com.hemanthjangam.event_mate.service.SalesCounterService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -16,9 +23,28 @@ import java.util.List;
 public class AdminController {
 
     private final BookingService bookingService;
+    private final CancellationService cancellationService;
+    private final SalesCounterService salesCounterService;
 
     @GetMapping("/bookings")
     public ResponseEntity<List<BookingDto.BookingResponse>> getAllBookings() {
         return ResponseEntity.ok(bookingService.getAllBookings());
     }
+
+    @GetMapping("/sales")
+    public ResponseEntity<List<SectionSales>> getSales(@RequestParam(required = false) Long eventId) {
+        return ResponseEntity.ok(salesCounterService.getSales(eventId));
+    }
+
+    @PostMapping("/events/{eventId}/shows/cancel")
+    public ResponseEntity<BookingDto.ShowCancellationResponse> cancelShow(@PathVariable Long eventId,
+            @RequestBody BookingDto.ShowCancellationRequest request) {
+        return ResponseEntity.ok(cancellationService.cancelShow(eventId, request));
+    }
+
+    @PostMapping("/bookings/bulk")
+    public ResponseEntity<BookingDto.BookingResponse> createBulkBooking(
+            @RequestBody BookingDto.BulkBookingRequest request) {
+        return ResponseEntity.ok(bookingService.createBulkBooking(request));
+    }
 }
@@ -1,10 +1,22 @@
 package com.hemanthjangam.event_mate.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.hemanthjangam.event_mate.dto.AvailabilityDto;
 import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.PricingDto;
+import com.hemanthjangam.event_mate.service.BookingLaneService;
 import com.hemanthjangam.event_mate.service.BookingService;
+import com.hemanthjangam.event_mate.service.CancellationService;
+import com.hemanthjangam.event_mate.service.IdempotencyService;
+import com.hemanthjangam.event_mate.service.SeatAllocationService;
+import com.hemanthjangam.event_mate.service.SeatInventoryService;
+import com.hemanthjangam.event_mate.service.SeatStreamService;
+import com.hemanthjangam.event_mate.service.WaitingRoomService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -14,10 +26,36 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingLaneService bookingLaneService;
+    private final CancellationService cancellationService;
+    private final WaitingRoomService waitingRoomService;
+    private final SeatAllocationService seatAllocationService;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatStreamService seatStreamService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<BookingDto.BookingResponse> createBooking(@RequestBody BookingDto.BookingRequest request) {
-        return ResponseEntity.ok(bookingService.createBooking(request));
+    public ResponseEntity<BookingDto.BookingResponse> createBooking(@RequestBody BookingDto.BookingRequest request,
+            @RequestHeader(value = "X-Admission-Pass", required = false) String admissionPass,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        waitingRoomService.requireAdmission(request.getEventId(), admissionPass);
+        return idempotencyService.execute("create-booking", idempotencyKey, request,
+                new TypeReference<BookingDto.BookingResponse>() {
+                },
+                () -> ResponseEntity.ok(bookingLaneService.createBooking(request)));
+    }
+
+    @PostMapping("/quote")
+    public ResponseEntity<PricingDto.QuoteResponse> quoteBooking(@RequestBody BookingDto.BookingRequest request) {
+        return ResponseEntity.ok(bookingService.quoteBooking(request));
+    }
+
+    @PostMapping("/best-available")
+    public ResponseEntity<BookingDto.BookingResponse> bookBestAvailable(
+            @RequestBody BookingDto.BestAvailableRequest request,
+            @RequestHeader(value = "X-Admission-Pass", required = false) String admissionPass) {
+        waitingRoomService.requireAdmission(request.getEventId(), admissionPass);
+        return ResponseEntity.ok(seatAllocationService.bookBestAvailable(request));
     }
 
     @PostMapping("/{bookingId}/confirm")
@@ -26,6 +64,11 @@ public class BookingController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{bookingId}/cancel")
+    public ResponseEntity<BookingDto.BookingResponse> cancelBooking(@PathVariable Long bookingId) {
+        return ResponseEntity.ok(cancellationService.cancelBooking(bookingId));
+    }
+
     @GetMapping("/my-bookings")
     public ResponseEntity<List<BookingDto.BookingResponse>> getUserBookings() {
         return ResponseEntity.ok(bookingService.getUserBookings());
@@ -33,13 +76,39 @@ public class BookingController {
 
     @GetMapping("/event/{eventId}/seats")
     public ResponseEntity<List<String>> getBookedSeats(@PathVariable Long eventId,
-            @RequestParam(required = false) java.time.LocalDateTime showDate) {
+            @RequestParam(required = false) java.time.LocalDateTime showDate,
+            @RequestHeader(value = "X-Admission-Pass", required = false) String admissionPass) {
+        waitingRoomService.requireAdmission(eventId, admissionPass);
         if (showDate != null) {
             return ResponseEntity.ok(bookingService.getBookedSeats(eventId, showDate));
         }
         return ResponseEntity.ok(bookingService.getBookedSeats(eventId));
     }
 
+    @GetMapping("/event/{eventId}/availability")
+    public ResponseEntity<AvailabilityDto.ShowAvailability> getSeatAvailability(@PathVariable Long eventId,
+            @RequestParam java.time.LocalDateTime showDate,
+            @RequestHeader(value = "X-Admission-Pass", required = false) String admissionPass,
+            WebRequest webRequest) {
+        waitingRoomService.requireAdmission(eventId, admissionPass);
+        Long version = seatInventoryService.getVersion(eventId, showDate);
+        if (version != null && webRequest.checkNotModified(Long.toString(version))) {
+            return null;
+        }
+        AvailabilityDto.ShowAvailability availability = seatInventoryService.getAvailability(eventId, showDate);
+        return ResponseEntity.ok().eTag(Long.toString(availability.getVersion())).body(availability);
+    }
+
+    // EventSource cannot send headers, so the admission pass may also come as a query parameter
+    @GetMapping("/event/{eventId}/stream")
+    public SseEmitter streamSeatChanges(@PathVariable Long eventId,
+            @RequestParam java.time.LocalDateTime showDate,
+            @RequestHeader(value = "X-Admission-Pass", required = false) String admissionPass,
+            @RequestParam(value = "admissionPass", required = false) String admissionPassParam) {
+        waitingRoomService.requireAdmission(eventId, admissionPass != null ? admissionPass : admissionPassParam);
+        return seatStreamService.subscribe(eventId, showDate);
+    }
+
     @GetMapping("/organizer")
     @org.springframework.security.access.prepost.PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<BookingDto.BookingResponse>> getOrganizerBookings() {
@@ -1,13 +1,21 @@
 package com.hemanthjangam.event_mate.controller;
 
+import com.hemanthjangam.event_mate.dto.AvailabilityDto;
+import com.hemanthjangam.event_mate.dto.CursorPage;
 import com.hemanthjangam.event_mate.dto.EventDto;
+import com.hemanthjangam.event_mate.dto.FacetDto;
+import com.hemanthjangam.event_mate.service.AvailabilitySummaryService;
 import com.hemanthjangam.event_mate.service.EventService;
+import com.hemanthjangam.event_mate.service.FacetIndexService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,16 +24,23 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final AvailabilitySummaryService availabilitySummaryService;
+    private final FacetIndexService facetIndexService;
 
+    // Listings are keyset paginated: pass X-Next-Cursor back as cursor for the next page
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<List<EventDto>> getAllEvents(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return page(eventService.getAllEvents(cursor, limit, includeTotal));
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<EventDto>> getAllEventsAdmin() {
-        return ResponseEntity.ok(eventService.getAllEventsAdmin());
+    public ResponseEntity<List<EventDto>> getAllEventsAdmin(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return page(eventService.getAllEventsAdmin(cursor, limit, includeTotal));
     }
 
     @GetMapping("/{id}")
@@ -34,8 +49,25 @@ public class EventController {
     }
 
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<List<EventDto>> getEventsByGroup(@PathVariable String groupId) {
-        return ResponseEntity.ok(eventService.getEventsByGroupId(groupId));
+    public ResponseEntity<List<EventDto>> getEventsByGroup(@PathVariable String groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return page(eventService.getEventsByGroupId(groupId, cursor, limit, includeTotal));
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<AvailabilityDto.EventSummary> getAvailabilitySummary(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(availabilitySummaryService.getTtl()))
+                .body(availabilitySummaryService.getEventSummary(id));
+    }
+
+    @GetMapping("/group/{groupId}/availability")
+    public ResponseEntity<List<AvailabilityDto.EventSummary>> getGroupAvailabilitySummary(@PathVariable String groupId) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(availabilitySummaryService.getTtl()))
+                .body(availabilitySummaryService.getGroupSummary(groupId));
     }
 
     @PostMapping
@@ -58,7 +90,48 @@ public class EventController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<EventDto>> searchEvents(@RequestParam String category) {
-        return ResponseEntity.ok(eventService.searchEvents(category));
+    public ResponseEntity<List<EventDto>> searchEvents(@RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        // Text searches are ranked and return one list; category-only searches page like the catalogue
+        if (q != null) {
+            return ResponseEntity.ok(eventService.searchEventsByText(q, category, limit));
+        }
+        return page(eventService.searchEvents(category, cursor, limit, includeTotal));
+    }
+
+    // Home page filters: repeat a parameter to select several values of one facet
+    @GetMapping("/facets")
+    public ResponseEntity<FacetDto.Result> searchFacets(@RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> venue,
+            @RequestParam(required = false) List<String> movieMode,
+            @RequestParam(required = false) List<String> priceBand,
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(facetIndexService.search(FacetDto.Query.builder()
+                .categories(category)
+                .venues(venue)
+                .movieModes(movieMode)
+                .priceBands(priceBand)
+                .date(date)
+                .from(from)
+                .to(to)
+                .limit(limit)
+                .build()));
+    }
+
+    private ResponseEntity<List<EventDto>> page(CursorPage<EventDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header("X-Next-Cursor", page.nextCursor());
+        }
+        if (page.totalCount() != null) {
+            response.header("X-Total-Count", Long.toString(page.totalCount()));
+        }
+        return response.body(page.items());
     }
 }
@@ -1,14 +1,19 @@
 package com.hemanthjangam.event_mate.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.hemanthjangam.event_mate.entity.Booking;
 import com.hemanthjangam.event_mate.service.BookingService;
+import com.hemanthjangam.event_mate.service.IdempotencyService;
 import com.hemanthjangam.event_mate.service.StripeService;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.checkout.Session;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,6 +28,7 @@ public class PaymentController {
 
     private final BookingService bookingService;
     private final StripeService stripeService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/create-intent")
     public ResponseEntity<Map<String, String>> createPaymentIntent(@RequestBody Map<String, Object> request) {
@@ -45,9 +51,10 @@ public class PaymentController {
             Long bookingId = Long.parseLong(request.get("bookingId").toString());
             String successUrl = request.get("successUrl").toString();
             String cancelUrl = request.get("cancelUrl").toString();
-            BigDecimal amount = bookingService.getAuthorizedPendingBooking(bookingId).getTotalAmount();
+            Booking booking = bookingService.getAuthorizedPendingBooking(bookingId);
 
-            Session session = stripeService.createCheckoutSession(bookingId, amount, "usd", successUrl, cancelUrl);
+            Session session = stripeService.createCheckoutSession(bookingId, booking.getTotalAmount(), "usd",
+                    successUrl, cancelUrl, booking.getHoldExpiresAt());
 
             return ResponseEntity.ok(Map.of("url", session.getUrl()));
         } catch (Exception e) {
@@ -56,12 +63,23 @@ public class PaymentController {
     }
 
     @PostMapping("/confirm-checkout-session")
-    public ResponseEntity<Map<String, String>> confirmCheckoutSession(@RequestBody Map<String, String> request) {
+    public ResponseEntity<Map<String, String>> confirmCheckoutSession(@RequestBody Map<String, String> request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("confirm-checkout-session", idempotencyKey, request,
+                new TypeReference<Map<String, String>>() {
+                },
+                () -> confirmCheckoutSession(request));
+    }
+
+    private ResponseEntity<Map<String, String>> confirmCheckoutSession(Map<String, String> request) {
         try {
             Long bookingId = Long.parseLong(request.get("bookingId"));
             String sessionId = request.get("sessionId");
             Session session = stripeService.getCheckoutSession(sessionId);
-            bookingService.confirmStripeCheckoutSession(bookingId, session);
+            if (!bookingService.confirmStripeCheckoutSession(bookingId, session)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("status", "refunded",
+                        "error", "Your seat hold ended before the payment arrived. The payment will be refunded."));
+            }
             return ResponseEntity.ok(Map.of("status", "confirmed"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -0,0 +1,25 @@
+package com.hemanthjangam.event_mate.controller;
+
+import com.hemanthjangam.event_mate.dto.WaitingRoomDto;
+import com.hemanthjangam.event_mate.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping("/events/{eventId}/join")
+    public ResponseEntity<WaitingRoomDto.TicketResponse> join(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<WaitingRoomDto.StatusResponse> status(@RequestHeader("X-Queue-Token") String queueToken) {
+        return ResponseEntity.ok(waitingRoomService.status(queueToken));
+    }
+}
@@ -0,0 +1,33 @@
+package com.hemanthjangam.event_mate.controller;
+
+import com.hemanthjangam.event_mate.dto.WaitlistDto;
+import com.hemanthjangam.event_mate.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    public ResponseEntity<WaitlistDto.EntryResponse> join(@RequestBody WaitlistDto.JoinRequest request) {
+        return ResponseEntity.ok(waitlistService.join(request));
+    }
+
+    @GetMapping("/my-entries")
+    public ResponseEntity<List<WaitlistDto.EntryResponse>> getMyEntries() {
+        return ResponseEntity.ok(waitlistService.getMyEntries());
+    }
+
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<Void> leave(@PathVariable Long entryId) {
+        waitlistService.leave(entryId);
+        return ResponseEntity.noContent().build();
+    }
+}
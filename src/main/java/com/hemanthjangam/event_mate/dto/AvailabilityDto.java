@@ -0,0 +1,103 @@
+package com.hemanthjangam.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AvailabilityDto {
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ShowAvailability {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private long version;
+        private List<SectionAvailability> sections;
+    }
+
+    /**
+     * Occupied seats of one section as a base64 bitset. Seat (row, col) is bit
+     * {@code (row - 1) * cols + (col - 1)}, least significant bit first in each
+     * byte; a set bit means the seat is held or booked.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SectionAvailability {
+        private Long sectionId;
+        private int rows;
+        private int cols;
+        private int occupied;
+        private String bitset;
+    }
+
+    /**
+     * Seat counts of every scheduled show of one event, one entry per date
+     * and show time.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class EventSummary {
+        private Long eventId;
+        private String title;
+        private List<ShowSummary> shows;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ShowSummary {
+        private LocalDateTime showDate;
+        private boolean cancelled;
+        private long capacity;
+        private long sold;
+        private long held;
+        private long available;
+        private List<SectionSummary> sections;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SectionSummary {
+        private Long sectionId;
+        private String name;
+        private long capacity;
+        private long sold;
+        private long held;
+        private long available;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatChangeFrame {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private Long version;
+        private List<SeatChange> seats;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatChange {
+        private Long sectionId;
+        private int row;
+        private int col;
+        private String state;
+    }
+}
@@ -20,6 +20,41 @@ public class BookingDto {
         private LocalDateTime showDate;
         private List<TicketRequest> tickets;
         private String paymentMethod;
+        private String quoteToken; // optional, books at the quoted prices
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BestAvailableRequest {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private Long sectionId;
+        private int quantity;
+        private String paymentMethod;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BulkBookingRequest {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private String customerEmail;
+        private List<Long> sectionIds; // every seat of these sections
+        private List<RowRequest> rows; // every seat of these rows
+        private List<TicketRequest> tickets; // individual seats
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowRequest {
+        private Long sectionId;
+        private int row;
     }
 
     @Data
@@ -43,9 +78,31 @@ public class BookingDto {
         private LocalDateTime bookingDate;
         private LocalDateTime showDate;
         private String paymentStatus;
+        private LocalDateTime holdExpiresAt;
         private BigDecimal totalAmount;
         private List<String> tickets;
         private String customerName;
         private String customerEmail;
     }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ShowCancellationRequest {
+        private LocalDateTime showDate;
+        private String reason;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ShowCancellationResponse {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private int cancelledBookings;
+        private int refundedBookings;
+        private int releasedSeats;
+    }
 }
@@ -0,0 +1,14 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The next cursor is null on the last
+ * page; the total count is only filled in when it was asked for.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, Long totalCount) {
+
+    public CursorPage<T> withTotalCount(long count) {
+        return new CursorPage<>(items, nextCursor, count);
+    }
+}
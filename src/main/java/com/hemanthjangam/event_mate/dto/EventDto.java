@@ -32,6 +32,8 @@ public class EventDto {
     private Integer duration; // in minutes
     private Double imdbRating;
     private String movieMode;
+    private Boolean highDemand;
+    private String pricingRules; // JSON array of PricingDto.Rule; only filled in on admin responses
     private java.util.List<String> cast;
 
     // Legacy support for frontend
@@ -0,0 +1,63 @@
+package com.hemanthjangam.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class FacetDto {
+
+    /**
+     * Home page filters. Values of one facet are alternatives, facets are
+     * combined. The date is either a preset from the date facet or a from/to
+     * range; missing bounds are open.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Query {
+        private List<String> categories;
+        private List<String> venues;
+        private List<String> movieModes;
+        private List<String> priceBands;
+        private String date;
+        private LocalDate from;
+        private LocalDate to;
+        private Integer limit;
+    }
+
+    /**
+     * Matching events, one per group in start date order, with the count of
+     * each facet value under every filter except the facet's own.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Result {
+        private List<EventDto> items;
+        private long total;
+        private Map<String, List<FacetValue>> facets;
+    }
+
+    /**
+     * One facet value and the number of events it would give; date presets
+     * also carry their range.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FacetValue {
+        private String value;
+        private long count;
+        private boolean selected;
+        private LocalDate from;
+        private LocalDate to;
+    }
+}
@@ -0,0 +1,9 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending booking id paired with the time its seat hold lapses.
+ */
+public record HoldDeadline(Long bookingId, LocalDateTime expiresAt) {
+}
@@ -0,0 +1,13 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Seat position together with the price its ticket was sold at.
+ */
+public record PricedSeat(Long sectionId, int row, int col, BigDecimal price) {
+
+    public SeatCoordinate coordinate() {
+        return new SeatCoordinate(sectionId, row, col);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hemanthjangam.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class PricingDto {
+
+    /**
+     * One pricing rule of an event. Every condition left empty matches; a
+     * matching rule multiplies the running price and then adds its adjustment.
+     */
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Rule {
+        private String name;
+        private Double minOccupancy; // share of the show's seats taken, 0 to 1
+        private Double maxOccupancy;
+        private Double minHoursToShow;
+        private Double maxHoursToShow;
+        private List<String> sections; // section names
+        private Integer minRow;
+        private Integer maxRow;
+        private BigDecimal multiplier;
+        private BigDecimal adjustment;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SeatPrice {
+        private Long sectionId;
+        private int row;
+        private int col;
+        private BigDecimal price;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class QuoteResponse {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private List<SeatPrice> seats;
+        private BigDecimal totalAmount;
+        private String quoteToken;
+        private LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.hemanthjangam.event_mate.dto;
+
+/**
+ * Lightweight seat position used by projection queries and the in-memory seat
+ * inventory. Rows and columns are 1-based, matching ticket records.
+ */
+public record SeatCoordinate(Long sectionId, int row, int col) {
+}
@@ -0,0 +1,9 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seats sold and seats held in one section of one show.
+ */
+public record SectionOccupancy(Long eventId, LocalDateTime showDate, Long sectionId, long seatsSold, long seatsHeld) {
+}
@@ -0,0 +1,11 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Seats sold, seats held and revenue of one section of one show.
+ */
+public record SectionSales(Long eventId, LocalDateTime showDate, Long sectionId, long seatsSold, long seatsHeld,
+        BigDecimal revenue) {
+}
@@ -0,0 +1,17 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seat position qualified by its show, used when one statement touches seats
+ * across several bookings or shows.
+ */
+public record ShowSeat(Long eventId, LocalDateTime showDate, Long sectionId, int row, int col) {
+
+    /**
+     * Returns the show-independent seat coordinate.
+     */
+    public SeatCoordinate seat() {
+        return new SeatCoordinate(sectionId, row, col);
+    }
+}
@@ -0,0 +1,34 @@
+package com.hemanthjangam.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+public class WaitingRoomDto {
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TicketResponse {
+        private Long eventId;
+        private boolean queued;
+        private long position;
+        private String queueToken;
+        private String admissionPass;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StatusResponse {
+        private Long eventId;
+        private boolean admitted;
+        private long position;
+        private long peopleAhead;
+        private Long estimatedWaitSeconds;
+        private String admissionPass;
+    }
+}
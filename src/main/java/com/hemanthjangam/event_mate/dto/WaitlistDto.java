@@ -0,0 +1,38 @@
+package com.hemanthjangam.event_mate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+public class WaitlistDto {
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class JoinRequest {
+        private Long eventId;
+        private LocalDateTime showDate;
+        private Long sectionId;
+        private int quantity;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class EntryResponse {
+        private Long id;
+        private Long eventId;
+        private LocalDateTime showDate;
+        private Long sectionId;
+        private int quantity;
+        private String status;
+        private Integer position; // 1-based place in the queue while waiting
+        private Long offeredBookingId;
+        private LocalDateTime joinedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.hemanthjangam.event_mate.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queue position of one waiting waitlist entry, without hydrating the entity.
+ */
+public record WaitlistSlot(Long entryId, Long eventId, LocalDateTime showDate, Long sectionId, Long userId,
+        int quantity) {
+}
@@ -38,6 +38,9 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private PaymentStatus paymentStatus;
 
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @Column(name = "total_amount", nullable = false)
     private java.math.BigDecimal totalAmount;
 
@@ -46,4 +49,7 @@ public class Booking {
 
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL)
     private Payment payment;
+
+    @Version
+    private Long version;
 }
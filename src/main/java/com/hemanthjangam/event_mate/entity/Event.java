@@ -72,6 +72,13 @@ public class Event {
 
     private String movieMode;
 
+    @Builder.Default
+    @Column(name = "high_demand", nullable = false)
+    private boolean highDemand = false;
+
+    @Column(name = "pricing_rules", columnDefinition = "TEXT")
+    private String pricingRules; // JSON array of PricingDto.Rule
+
     @ElementCollection
     @CollectionTable(name = "event_cast", joinColumns = @JoinColumn(name = "event_id"))
     @Column(name = "cast_name")
@@ -35,4 +35,9 @@ public class Payment {
     private PaymentStatus status;
 
     private LocalDateTime paymentDate;
+
+    private String transactionReference; // gateway payment id, used for refunds
+
+    @Version
+    private Long version;
 }
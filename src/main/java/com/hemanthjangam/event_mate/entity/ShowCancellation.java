@@ -0,0 +1,34 @@
+package com.hemanthjangam.event_mate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "show_cancellations")
+public class ShowCancellation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(name = "show_date", nullable = false)
+    private LocalDateTime showDate;
+
+    private String reason;
+
+    @Column(nullable = false)
+    private LocalDateTime cancelledAt;
+}
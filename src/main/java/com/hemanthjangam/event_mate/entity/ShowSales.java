@@ -0,0 +1,44 @@
+package com.hemanthjangam.event_mate.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "show_sales")
+public class ShowSales {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "show_date", nullable = false)
+    private LocalDateTime showDate;
+
+    @Column(name = "section_id", nullable = false)
+    private Long sectionId;
+
+    @Column(nullable = false)
+    private long seatsSold;
+
+    @Column(nullable = false)
+    private long seatsHeld;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
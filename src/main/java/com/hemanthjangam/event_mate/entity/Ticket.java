@@ -14,8 +14,10 @@ import lombok.NoArgsConstructor;
 @Table(name = "tickets")
 public class Ticket {
 
+    // Pooled sequence ids let Hibernate batch ticket inserts; the increment must match V5
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tickets_id_seq")
+    @SequenceGenerator(name = "tickets_id_seq", sequenceName = "tickets_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -50,6 +52,7 @@ public class Ticket {
     private TicketStatus status;
 
     public enum TicketStatus {
+        HELD,
         BOOKED,
         CANCELLED,
         USED
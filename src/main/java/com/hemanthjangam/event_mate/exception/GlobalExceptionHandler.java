@@ -28,6 +28,22 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(ConflictException.class)
+        public ResponseEntity<ErrorDetails> handleConflictException(ConflictException exception,
+                        WebRequest webRequest) {
+                ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), exception.getMessage(),
+                                webRequest.getDescription(false));
+                return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+        }
+
+        @ExceptionHandler(AdmissionRequiredException.class)
+        public ResponseEntity<ErrorDetails> handleAdmissionRequiredException(AdmissionRequiredException exception,
+                        WebRequest webRequest) {
+                ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), exception.getMessage(),
+                                webRequest.getDescription(false));
+                return new ResponseEntity<>(errorDetails, HttpStatus.TOO_MANY_REQUESTS);
+        }
+
         @ExceptionHandler(IllegalArgumentException.class)
         public ResponseEntity<ErrorDetails> handleIllegalArgumentException(IllegalArgumentException exception,
                         WebRequest webRequest) {
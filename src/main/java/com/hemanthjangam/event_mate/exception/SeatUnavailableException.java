@@ -0,0 +1,11 @@
+package com.hemanthjangam.event_mate.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class SeatUnavailableException extends BadRequestException {
+    public SeatUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,19 @@
 package com.hemanthjangam.event_mate.repository;
 
+import com.hemanthjangam.event_mate.dto.HoldDeadline;
 import com.hemanthjangam.event_mate.entity.Booking;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
 import com.hemanthjangam.event_mate.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -20,4 +28,37 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "tickets", "event", "user", "payment" })
     List<Booking> findByEventOrganizer(User organizer);
+
+    // Pending holds that are still running, used to rebuild the in-memory expiry wheel
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.HoldDeadline(b.id, b.holdExpiresAt) FROM Booking b "
+            + "WHERE b.paymentStatus = ?1 AND b.holdExpiresAt >= ?2")
+    List<HoldDeadline> findHoldDeadlines(PaymentStatus status, LocalDateTime from);
+
+    // Overdue holds, served by the partial index on pending hold expiry
+    @Query("SELECT b.id FROM Booking b WHERE b.paymentStatus = ?1 AND b.holdExpiresAt < ?2 ORDER BY b.holdExpiresAt")
+    List<Long> findIdsWithHoldExpiredBefore(PaymentStatus status, LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.paymentStatus = ?3, b.version = b.version + 1 "
+            + "WHERE b.id IN ?1 AND b.paymentStatus = ?2")
+    int updatePaymentStatus(Collection<Long> bookingIds, PaymentStatus from, PaymentStatus to);
+
+    // Single-statement state transition; only one of several racing writers sees an updated row
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.paymentStatus = ?3, b.version = b.version + 1 "
+            + "WHERE b.id = ?1 AND b.paymentStatus = ?2")
+    int transitionPaymentStatus(Long bookingId, PaymentStatus from, PaymentStatus to);
+
+    // Locks the given bookings that are still in one state, in id order like every other multi-booking lock
+    @Query(value = "SELECT id FROM bookings WHERE id IN ?1 AND payment_status = ?2 ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIds(Collection<Long> bookingIds, String paymentStatus);
+
+    // Locks a show's bookings in one state so concurrent transitions on them wait for the caller
+    @Query(value = "SELECT id FROM bookings WHERE event_id = ?1 AND show_date = ?2 AND payment_status = ?3 "
+            + "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsForShow(Long eventId, LocalDateTime showDate, String paymentStatus);
+
+    @Query("SELECT b.paymentStatus FROM Booking b WHERE b.id = ?1")
+    Optional<PaymentStatus> findPaymentStatusById(Long bookingId);
 }
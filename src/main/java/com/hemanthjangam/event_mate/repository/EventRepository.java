@@ -1,29 +1,81 @@
 package com.hemanthjangam.event_mate.repository;
 
 import com.hemanthjangam.event_mate.entity.Event;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByStartDateAfter(java.time.LocalDate date);
 
+    List<Event> findByEndDateGreaterThanEqual(LocalDate date);
+
     List<Event> findByCategory(String category);
 
     // Fetch all events belonging to the same group, ordered by date
     List<Event> findByGroupIdOrderByStartDateAsc(String groupId);
 
-    // Fetch one event per group (for the home page display)
-    // This query selects the event with the minimum ID for each groupId, PLUS all
-    // events with null groupId
-    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId)")
-    List<Event> findUniqueEventsByGroupId();
+    // Listings are keyset pages ordered by (startDate, id): rows after the cursor, up to the limit
+
+    // One event per group (for the home page display): the event with the minimum ID for each groupId,
+    // PLUS all events with null groupId
+    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE (e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId)) "
+            + "AND (e.startDate, e.id) > (?1, ?2) ORDER BY e.startDate, e.id")
+    List<Event> findUniqueEventsAfter(LocalDate startDate, Long id, Limit limit);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(e) FROM Event e WHERE e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId)")
+    long countUniqueEvents();
+
+    // One event per group filtered by category
+    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.category = ?1 AND (e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId)) "
+            + "AND (e.startDate, e.id) > (?2, ?3) ORDER BY e.startDate, e.id")
+    List<Event> findUniqueEventsByCategoryAfter(String category, LocalDate startDate, Long id, Limit limit);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(e) FROM Event e WHERE e.category = ?1 AND (e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId))")
+    long countUniqueEventsByCategory(String category);
+
+    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE (e.startDate, e.id) > (?1, ?2) ORDER BY e.startDate, e.id")
+    List<Event> findEventsAfter(LocalDate startDate, Long id, Limit limit);
+
+    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.groupId = ?1 AND (e.startDate, e.id) > (?2, ?3) ORDER BY e.startDate, e.id")
+    List<Event> findByGroupIdAfter(String groupId, LocalDate startDate, Long id, Limit limit);
 
-    // Fetch one event per group filtered by category
-    @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.category = ?1 AND (e.groupId IS NULL OR e.id IN (SELECT MIN(e2.id) FROM Event e2 WHERE e2.groupId IS NOT NULL GROUP BY e2.groupId))")
-    List<Event> findUniqueEventsByCategory(String category);
+    long countByGroupId(String groupId);
+
+    // Full-text search over the trigger-maintained search_vector: keeps the best-ranked match of each group
+    // (events without a group stand alone), orders the matches by rank and loads only the page it returns
+    @org.springframework.data.jpa.repository.Query(value = "SELECT e.* FROM ("
+            + "SELECT * FROM ("
+            + "SELECT DISTINCT ON (e.group_id, CASE WHEN e.group_id IS NULL THEN e.id END) "
+            + "e.id, e.start_date, ts_rank(e.search_vector, q.query) AS rank "
+            + "FROM events e, to_tsquery('english', ?1) AS q(query) "
+            + "WHERE e.search_vector @@ q.query AND (CAST(?2 AS VARCHAR) IS NULL OR e.category = ?2) "
+            + "ORDER BY e.group_id, CASE WHEN e.group_id IS NULL THEN e.id END, rank DESC, e.start_date, e.id"
+            + ") matches ORDER BY rank DESC, start_date, id LIMIT ?3"
+            + ") hits JOIN events e ON e.id = hits.id "
+            + "ORDER BY hits.rank DESC, hits.start_date, hits.id", nativeQuery = true)
+    List<Event> searchUniqueEvents(String tsQuery, String category, int limit);
+
+    // Catalogue read path: each query initialises one collection of already loaded events, so a list of
+    // any size costs one query per collection; fetching the bags separately avoids a cartesian product
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.showTimes WHERE e.id IN ?1")
+    List<Event> fetchShowTimes(java.util.Collection<Long> ids);
+
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.mediaUrls WHERE e.id IN ?1")
+    List<Event> fetchMediaUrls(java.util.Collection<Long> ids);
+
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.cast WHERE e.id IN ?1")
+    List<Event> fetchCast(java.util.Collection<Long> ids);
+
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.sections WHERE e.id IN ?1")
+    List<Event> fetchSections(java.util.Collection<Long> ids);
 
     boolean existsByTitle(String title);
+
+    @org.springframework.data.jpa.repository.Query("SELECT e.id FROM Event e WHERE e.highDemand = true")
+    List<Long> findHighDemandEventIds();
 }
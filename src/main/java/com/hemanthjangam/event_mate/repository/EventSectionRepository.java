@@ -1,10 +1,17 @@
-
 package com.hemanthjangam.event_mate.repository;
 
 import com.hemanthjangam.event_mate.entity.EventSection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface EventSectionRepository extends JpaRepository<EventSection, Long> {
+    List<EventSection> findByEvent_Id(Long eventId);
+
+    List<EventSection> findByIdInAndEvent_Id(Collection<Long> ids, Long eventId);
+
+    List<EventSection> findByEvent_IdInOrderByIdAsc(Collection<Long> eventIds);
 }
@@ -0,0 +1,41 @@
+package com.hemanthjangam.event_mate.repository;
+
+import com.hemanthjangam.event_mate.entity.IdempotencyKey;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+    Optional<IdempotencyKey> findByScopeAndOwnerAndIdempotencyKey(String scope, String owner, String idempotencyKey);
+
+    // Claims a key; returns 0 when another request already holds it
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys (scope, owner, idempotency_key, request_hash, created_at, expires_at) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, ?6) ON CONFLICT (scope, owner, idempotency_key) DO NOTHING",
+            nativeQuery = true)
+    int claim(String scope, String owner, String idempotencyKey, String requestHash, LocalDateTime createdAt,
+            LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKey k SET k.statusCode = ?4, k.responseBody = ?5 "
+            + "WHERE k.scope = ?1 AND k.owner = ?2 AND k.idempotencyKey = ?3")
+    int complete(String scope, String owner, String idempotencyKey, int statusCode, String responseBody);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.scope = ?1 AND k.owner = ?2 AND k.idempotencyKey = ?3")
+    int release(String scope, String owner, String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < ?1")
+    int deleteExpired(LocalDateTime cutoff);
+}
@@ -2,11 +2,21 @@ package com.hemanthjangam.event_mate.repository;
 
 import com.hemanthjangam.event_mate.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdAndReadFalse(Long userId);
+
+    // One notification per booking owner, written in a single statement
+    @Modifying
+    @Query(value = "INSERT INTO notifications (user_id, message, read, sent_at) "
+            + "SELECT b.user_id, ?2, false, ?3 FROM bookings b WHERE b.id IN ?1", nativeQuery = true)
+    int insertForBookings(Collection<Long> bookingIds, String message, LocalDateTime sentAt);
 }
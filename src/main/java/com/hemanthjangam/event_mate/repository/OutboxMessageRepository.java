@@ -0,0 +1,54 @@
+package com.hemanthjangam.event_mate.repository;
+
+import com.hemanthjangam.event_mate.entity.OutboxMessage;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Due rows not locked by another dispatcher; must run inside the claiming transaction
+    @Query(value = "SELECT id FROM outbox_messages WHERE status = 'PENDING' AND available_at <= ?1 "
+            + "ORDER BY available_at, id LIMIT ?2 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(LocalDateTime now, int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.availableAt = ?2, m.attempts = m.attempts + 1 WHERE m.id IN ?1")
+    int lease(Collection<Long> ids, LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.status = com.hemanthjangam.event_mate.entity.OutboxMessage.Status.DONE, "
+            + "m.processedAt = ?2, m.lastError = NULL WHERE m.id IN ?1")
+    int markDone(Collection<Long> ids, LocalDateTime processedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMessage m SET m.status = ?2, m.availableAt = ?3, m.lastError = ?4 WHERE m.id = ?1")
+    int markFailed(Long id, OutboxMessage.Status status, LocalDateTime availableAt, String lastError);
+
+    // One message per booking in a single statement; the payload matches OutboxService.BookingPayload
+    @Modifying
+    @Query(value = "INSERT INTO outbox_messages (type, payload, status, attempts, available_at, created_at) "
+            + "SELECT ?1, CAST(json_build_object('bookingId', b.id) AS TEXT), 'PENDING', 0, ?3, ?3 "
+            + "FROM bookings b WHERE b.id IN ?2",
+            nativeQuery = true)
+    int enqueueForBookings(String type, Collection<Long> bookingIds, LocalDateTime now);
+
+    @Query("SELECT COUNT(m), MIN(m.createdAt) FROM OutboxMessage m "
+            + "WHERE m.status = com.hemanthjangam.event_mate.entity.OutboxMessage.Status.PENDING")
+    List<Object[]> summarizePending();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = com.hemanthjangam.event_mate.entity.OutboxMessage.Status.DONE "
+            + "AND m.processedAt < ?1")
+    int deleteProcessedBefore(LocalDateTime cutoff);
+}
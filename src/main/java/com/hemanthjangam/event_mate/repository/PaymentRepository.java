@@ -1,12 +1,33 @@
 package com.hemanthjangam.event_mate.repository;
 
 import com.hemanthjangam.event_mate.entity.Payment;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByBookingId(Long bookingId);
+
+    // Writes the booking's single payment row without a read-then-insert race on booking_id
+    @Modifying
+    @Query(value = "INSERT INTO payments (booking_id, amount, method, status, payment_date, transaction_reference, version) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, ?6, 0) "
+            + "ON CONFLICT (booking_id) DO UPDATE SET amount = EXCLUDED.amount, method = EXCLUDED.method, "
+            + "status = EXCLUDED.status, payment_date = EXCLUDED.payment_date, "
+            + "transaction_reference = EXCLUDED.transaction_reference, version = payments.version + 1",
+            nativeQuery = true)
+    int upsert(Long bookingId, BigDecimal amount, String method, String status, LocalDateTime paymentDate,
+            String transactionReference);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = ?3, p.version = p.version + 1 WHERE p.booking.id IN ?1 AND p.status = ?2")
+    int updateStatusForBookings(Collection<Long> bookingIds, PaymentStatus from, PaymentStatus to);
 }
@@ -0,0 +1,27 @@
+package com.hemanthjangam.event_mate.repository;
+
+import com.hemanthjangam.event_mate.entity.ShowCancellation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ShowCancellationRepository extends JpaRepository<ShowCancellation, Long> {
+    boolean existsByEvent_IdAndShowDate(Long eventId, LocalDateTime showDate);
+
+    Optional<ShowCancellation> findByEvent_IdAndShowDate(Long eventId, LocalDateTime showDate);
+
+    List<ShowCancellation> findByEvent_IdIn(Collection<Long> eventIds);
+
+    // Transaction-scoped Postgres advisory locks on a show, shared by bookings and exclusive to its cancellation
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(?1, ?2)", nativeQuery = true)
+    int lockShowShared(int namespace, int key);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(?1, ?2)", nativeQuery = true)
+    int lockShowExclusive(int namespace, int key);
+}
@@ -0,0 +1,51 @@
+package com.hemanthjangam.event_mate.repository;
+
+import com.hemanthjangam.event_mate.entity.ShowSales;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ShowSalesRepository extends JpaRepository<ShowSales, Long> {
+    List<ShowSales> findByEventIdOrderByShowDateAscSectionIdAsc(Long eventId);
+
+    List<ShowSales> findAllByOrderByEventIdAscShowDateAscSectionIdAsc();
+
+    // Adds counter deltas, so flushes from several nodes combine instead of overwriting each other
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO show_sales (event_id, show_date, section_id, seats_sold, seats_held, revenue, updated_at) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7) "
+            + "ON CONFLICT (event_id, show_date, section_id) DO UPDATE SET "
+            + "seats_sold = show_sales.seats_sold + EXCLUDED.seats_sold, "
+            + "seats_held = show_sales.seats_held + EXCLUDED.seats_held, "
+            + "revenue = show_sales.revenue + EXCLUDED.revenue, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int addDeltas(Long eventId, LocalDateTime showDate, Long sectionId, long seatsSold, long seatsHeld,
+            BigDecimal revenue, LocalDateTime updatedAt);
+
+    // Sets counters found drifted, unless a flush or another repair wrote the row since it was checked
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE show_sales SET seats_sold = ?4, seats_held = ?5, revenue = ?6, updated_at = ?8 "
+            + "WHERE event_id = ?1 AND show_date = ?2 AND section_id = ?3 AND updated_at = ?7",
+            nativeQuery = true)
+    int resetIfUnchanged(Long eventId, LocalDateTime showDate, Long sectionId, long seatsSold, long seatsHeld,
+            BigDecimal revenue, LocalDateTime checkedUpdatedAt, LocalDateTime updatedAt);
+
+    // Creates the counters of a section found missing, unless a flush created them since it was checked
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO show_sales (event_id, show_date, section_id, seats_sold, seats_held, revenue, updated_at) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7) "
+            + "ON CONFLICT (event_id, show_date, section_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(Long eventId, LocalDateTime showDate, Long sectionId, long seatsSold, long seatsHeld,
+            BigDecimal revenue, LocalDateTime updatedAt);
+}
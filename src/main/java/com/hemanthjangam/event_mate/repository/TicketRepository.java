@@ -1,15 +1,79 @@
 package com.hemanthjangam.event_mate.repository;
 
+import com.hemanthjangam.event_mate.dto.PricedSeat;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.dto.SectionOccupancy;
+import com.hemanthjangam.event_mate.dto.SectionSales;
+import com.hemanthjangam.event_mate.dto.ShowSeat;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
 import com.hemanthjangam.event_mate.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
-    boolean existsByEvent_IdAndShowDateAndSection_IdAndRowNumberAndColNumber(Long eventId,
-            java.time.LocalDateTime showDate, Long sectionId, int rowNumber, int colNumber);
-
     java.util.List<Ticket> findByEvent_IdAndShowDate(Long eventId, java.time.LocalDateTime showDate);
 
+    java.util.List<Ticket> findByEvent_IdAndShowDateAndStatusIn(Long eventId, java.time.LocalDateTime showDate,
+            Collection<Ticket.TicketStatus> statuses);
+
     java.util.List<Ticket> findByEvent_Id(Long eventId);
+
+    long countByBooking_IdAndStatus(Long bookingId, Ticket.TicketStatus status);
+
+    // Seat positions only, so the seat inventory can be rebuilt without hydrating tickets
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.SeatCoordinate(t.section.id, t.rowNumber, t.colNumber) "
+            + "FROM Ticket t WHERE t.event.id = ?1 AND t.showDate = ?2 AND t.status IN ?3")
+    java.util.List<SeatCoordinate> findSeatCoordinates(Long eventId, java.time.LocalDateTime showDate,
+            Collection<Ticket.TicketStatus> statuses);
+
+    // Seat positions with sale prices, for announcing the release of booked seats
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.PricedSeat(t.section.id, t.rowNumber, t.colNumber, t.price) "
+            + "FROM Ticket t WHERE t.event.id = ?1 AND t.showDate = ?2 AND t.status IN ?3")
+    java.util.List<PricedSeat> findPricedSeats(Long eventId, java.time.LocalDateTime showDate,
+            Collection<Ticket.TicketStatus> statuses);
+
+    // Live seats counted per show section, for reconciling the sales counters
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.SectionSales(t.event.id, t.showDate, t.section.id, "
+            + "SUM(CASE WHEN t.status = ?1 THEN 1L ELSE 0L END), SUM(CASE WHEN t.status = ?2 THEN 1L ELSE 0L END), "
+            + "SUM(CASE WHEN t.status = ?1 THEN t.price ELSE 0 END)) "
+            + "FROM Ticket t WHERE t.status IN (?1, ?2) GROUP BY t.event.id, t.showDate, t.section.id")
+    java.util.List<SectionSales> summarizeSales(Ticket.TicketStatus sold, Ticket.TicketStatus held);
+
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.SectionOccupancy(t.event.id, t.showDate, t.section.id, "
+            + "SUM(CASE WHEN t.status = ?2 THEN 1L ELSE 0L END), SUM(CASE WHEN t.status = ?3 THEN 1L ELSE 0L END)) "
+            + "FROM Ticket t WHERE t.event.id IN ?1 AND t.status IN (?2, ?3) GROUP BY t.event.id, t.showDate, t.section.id")
+    java.util.List<SectionOccupancy> summarizeOccupancy(Collection<Long> eventIds, Ticket.TicketStatus sold,
+            Ticket.TicketStatus held);
+
+    // Occupied seats whose section, row and column each appear in the requested sets
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.SeatCoordinate(t.section.id, t.rowNumber, t.colNumber) "
+            + "FROM Ticket t WHERE t.event.id = ?1 AND t.showDate = ?2 AND t.section.id IN ?3 "
+            + "AND t.rowNumber IN ?4 AND t.colNumber IN ?5 AND t.status IN ?6")
+    java.util.List<SeatCoordinate> findSeatCandidates(Long eventId, java.time.LocalDateTime showDate,
+            Collection<Long> sectionIds, Collection<Integer> rows, Collection<Integer> cols,
+            Collection<Ticket.TicketStatus> statuses);
+
+    // Seats of the given bookings that are in a ticket state while the booking is in a payment state
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.ShowSeat(t.event.id, t.showDate, t.section.id, t.rowNumber, t.colNumber) "
+            + "FROM Ticket t WHERE t.booking.id IN ?1 AND t.status = ?2 AND t.booking.paymentStatus = ?3")
+    java.util.List<ShowSeat> findShowSeats(Collection<Long> bookingIds, Ticket.TicketStatus status,
+            PaymentStatus paymentStatus);
+
+    // Transaction-scoped Postgres advisory lock taken without waiting; false when another transaction holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(?1, ?2)", nativeQuery = true)
+    boolean tryAdvisoryLock(int namespace, int key);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = ?3 WHERE t.booking.id IN ?1 AND t.status = ?2")
+    int updateStatusForBookings(Collection<Long> bookingIds, Ticket.TicketStatus from, Ticket.TicketStatus to);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = ?4 WHERE t.event.id = ?1 AND t.showDate = ?2 AND t.status IN ?3")
+    int updateStatusForShow(Long eventId, java.time.LocalDateTime showDate, Collection<Ticket.TicketStatus> from,
+            Ticket.TicketStatus to);
 }
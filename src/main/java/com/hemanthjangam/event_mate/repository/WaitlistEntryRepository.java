@@ -0,0 +1,55 @@
+package com.hemanthjangam.event_mate.repository;
+
+import com.hemanthjangam.event_mate.dto.WaitlistSlot;
+import com.hemanthjangam.event_mate.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Waiting entries in join order, used to rebuild the in-memory queues
+    @Query("SELECT new com.hemanthjangam.event_mate.dto.WaitlistSlot(w.id, w.event.id, w.showDate, w.section.id, "
+            + "w.user.id, w.quantity) FROM WaitlistEntry w WHERE w.status = ?1 ORDER BY w.id")
+    List<WaitlistSlot> findSlotsByStatus(WaitlistEntry.Status status);
+
+    boolean existsByUser_IdAndEvent_IdAndShowDateAndSection_IdAndStatus(Long userId, Long eventId,
+            LocalDateTime showDate, Long sectionId, WaitlistEntry.Status status);
+
+    List<WaitlistEntry> findByUser_IdAndStatusInOrderByJoinedAtDesc(Long userId,
+            Collection<WaitlistEntry.Status> statuses);
+
+    // Shows with open offers, used to know which seat changes may settle one
+    @Query("SELECT DISTINCT w.event.id, w.showDate FROM WaitlistEntry w WHERE w.status = ?1")
+    List<Object[]> findShowsByStatus(WaitlistEntry.Status status);
+
+    boolean existsByEvent_IdAndShowDateAndStatus(Long eventId, LocalDateTime showDate, WaitlistEntry.Status status);
+
+    // Marks a show's offers claimed or expired once their booking is paid or its hold ended
+    @Modifying
+    @Query(value = "UPDATE waitlist_entries w SET status = CASE WHEN b.payment_status IN ('COMPLETED', 'REFUNDED') "
+            + "THEN 'CLAIMED' ELSE 'EXPIRED' END FROM bookings b "
+            + "WHERE w.status = 'OFFERED' AND w.event_id = ?1 AND w.show_date = ?2 "
+            + "AND b.id = w.offered_booking_id AND b.payment_status <> 'PENDING'",
+            nativeQuery = true)
+    int settleOffers(Long eventId, LocalDateTime showDate);
+
+    // The same for one user's offers, for reads that should not show a settled offer as open
+    @Modifying
+    @Query(value = "UPDATE waitlist_entries w SET status = CASE WHEN b.payment_status IN ('COMPLETED', 'REFUNDED') "
+            + "THEN 'CLAIMED' ELSE 'EXPIRED' END FROM bookings b "
+            + "WHERE w.status = 'OFFERED' AND w.user_id = ?1 "
+            + "AND b.id = w.offered_booking_id AND b.payment_status <> 'PENDING'",
+            nativeQuery = true)
+    int settleOffersOfUser(Long userId);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = ?3 WHERE w.id IN ?1 AND w.status = ?2")
+    int updateStatus(Collection<Long> ids, WaitlistEntry.Status from, WaitlistEntry.Status to);
+}
@@ -7,6 +7,7 @@ import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
 import com.hemanthjangam.event_mate.entity.Role;
 import com.hemanthjangam.event_mate.entity.User;
 import com.hemanthjangam.event_mate.repository.UserRepository;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -26,11 +27,12 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
 
     /**
      * Registers a new customer account and returns an authenticated JWT payload.
      */
+    @Transactional
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
         String email = normalizeEmail(request.getEmail());
         validatePassword(request.getPassword());
@@ -48,7 +50,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
-        emailService.sendEmail(
+        outboxService.enqueueEmail(
                 user.getEmail(),
                 "Welcome to Event Mate!",
                 "Hi " + user.getName() + ",\n\nWelcome to Event Mate! We are excited to have you on board.\n\nBest,\nThe Event Mate Team");
@@ -72,6 +74,7 @@ public class AuthService {
     /**
      * Generates a time-bound OTP and delivers it to the user email address.
      */
+    @Transactional
     public void generateOtp(String email) {
         User user = findUserByEmail(email);
         String otp = String.format("%06d", OTP_RANDOM.nextInt(1_000_000));
@@ -80,7 +83,7 @@ public class AuthService {
         user.setOtpExpiry(LocalDateTime.now().plusMinutes(10));
         userRepository.save(user);
 
-        emailService.sendEmail(
+        outboxService.enqueueEmail(
                 user.getEmail(),
                 "Your Login OTP",
                 "Your OTP for Event Mate login is: " + otp + "\nIt expires in 10 minutes.");
@@ -100,6 +103,7 @@ public class AuthService {
     /**
      * Resets the password after a successful OTP verification.
      */
+    @Transactional
     public void resetPassword(AuthDto.ResetPasswordRequest request) {
         User user = findUserByEmail(request.getEmail());
         validateOtp(user, request.getOtp());
@@ -109,7 +113,7 @@ public class AuthService {
         clearOtp(user);
         userRepository.save(user);
 
-        emailService.sendEmail(user.getEmail(), "Password Changed",
+        outboxService.enqueueEmail(user.getEmail(), "Password Changed",
                 "Your password has been successfully changed.");
     }
 
@@ -0,0 +1,248 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.AvailabilityDto;
+import com.hemanthjangam.event_mate.dto.SectionOccupancy;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.ShowCancellation;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.EventSectionRepository;
+import com.hemanthjangam.event_mate.repository.ShowCancellationRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Seat counts for every date and show time of an event, or of every event in
+ * a group, for the event details page. Ticket counts come from one grouped
+ * query per request, whatever the number of shows, and are combined with the
+ * section capacities. Summaries are cached per event for a short time and
+ * dropped as soon as seats of the event change.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilitySummaryService {
+
+    private final EventRepository eventRepository;
+    private final EventSectionRepository eventSectionRepository;
+    private final TicketRepository ticketRepository;
+    private final ShowCancellationRepository showCancellationRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, CachedSummary> cache = new ConcurrentHashMap<>();
+    // Bumped on every change so a summary computed across a change is not cached
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    @Value("${app.availability.summary-ttl:PT5S}")
+    private Duration ttl;
+
+    private Counter hits;
+    private Counter misses;
+
+    /**
+     * Registers the cache meters.
+     */
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("availability.summary.cache.hits").register(meterRegistry);
+        misses = Counter.builder("availability.summary.cache.misses").register(meterRegistry);
+        meterRegistry.gauge("availability.summary.cache.size", cache, Map::size);
+    }
+
+    /**
+     * How long clients may reuse a summary.
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    @Transactional
+    public AvailabilityDto.EventSummary getEventSummary(Long eventId) {
+        CachedSummary cached = cache.get(eventId);
+        if (cached != null && cached.isFresh(System.nanoTime())) {
+            hits.increment();
+            return cached.summary();
+        }
+        Event event = eventRepository.findById(java.util.Objects.requireNonNull(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        return summarize(List.of(event)).get(0);
+    }
+
+    @Transactional
+    public List<AvailabilityDto.EventSummary> getGroupSummary(String groupId) {
+        return summarize(eventRepository.findByGroupIdOrderByStartDateAsc(groupId));
+    }
+
+    /**
+     * Drops the cached summary of an event whose seats changed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        invalidate(change.eventId());
+    }
+
+    /**
+     * Drops the cached summary of an event whose schedule or sections may
+     * have changed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChanged(CatalogueChangedEvent change) {
+        invalidate(change.eventId());
+    }
+
+    private void invalidate(Long eventId) {
+        generations.merge(eventId, 1L, Long::sum);
+        cache.remove(eventId);
+    }
+
+    /**
+     * Answers fresh events from the cache and computes the others together.
+     */
+    private List<AvailabilityDto.EventSummary> summarize(List<Event> events) {
+        long now = System.nanoTime();
+        Map<Long, AvailabilityDto.EventSummary> summaries = new LinkedHashMap<>();
+        List<Event> missing = new ArrayList<>();
+        Map<Long, Long> startGenerations = new HashMap<>();
+        for (Event event : events) {
+            CachedSummary cached = cache.get(event.getId());
+            if (cached != null && cached.isFresh(now)) {
+                hits.increment();
+                summaries.put(event.getId(), cached.summary());
+            } else {
+                misses.increment();
+                summaries.put(event.getId(), null);
+                missing.add(event);
+                startGenerations.put(event.getId(), generations.getOrDefault(event.getId(), 0L));
+            }
+        }
+        if (missing.isEmpty()) {
+            return new ArrayList<>(summaries.values());
+        }
+        cache.values().removeIf(cached -> !cached.isFresh(now));
+        long expiresAt = now + ttl.toNanos();
+        for (AvailabilityDto.EventSummary summary : compute(missing)) {
+            summaries.put(summary.getEventId(), summary);
+            if (startGenerations.get(summary.getEventId()).equals(generations.getOrDefault(summary.getEventId(), 0L))) {
+                cache.put(summary.getEventId(), new CachedSummary(summary, expiresAt));
+            }
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
+    private List<AvailabilityDto.EventSummary> compute(List<Event> events) {
+        List<Long> eventIds = events.stream().map(Event::getId).toList();
+        Map<Long, List<EventSection>> sections = eventSectionRepository.findByEvent_IdInOrderByIdAsc(eventIds).stream()
+                .collect(Collectors.groupingBy(section -> section.getEvent().getId()));
+        Map<SectionKey, SectionOccupancy> occupancy = new HashMap<>();
+        for (SectionOccupancy counts : ticketRepository.summarizeOccupancy(eventIds, Ticket.TicketStatus.BOOKED,
+                Ticket.TicketStatus.HELD)) {
+            occupancy.put(new SectionKey(counts.eventId(), counts.showDate(), counts.sectionId()), counts);
+        }
+        Set<ShowKey> cancelled = new HashSet<>();
+        for (ShowCancellation cancellation : showCancellationRepository.findByEvent_IdIn(eventIds)) {
+            cancelled.add(new ShowKey(cancellation.getEvent().getId(), cancellation.getShowDate()));
+        }
+
+        List<AvailabilityDto.EventSummary> summaries = new ArrayList<>(events.size());
+        for (Event event : events) {
+            List<EventSection> eventSections = sections.getOrDefault(event.getId(), List.of());
+            List<AvailabilityDto.ShowSummary> shows = new ArrayList<>();
+            for (LocalDateTime showDate : scheduledShows(event)) {
+                shows.add(summarizeShow(event.getId(), showDate, eventSections, occupancy,
+                        cancelled.contains(new ShowKey(event.getId(), showDate))));
+            }
+            summaries.add(AvailabilityDto.EventSummary.builder()
+                    .eventId(event.getId())
+                    .title(event.getTitle())
+                    .shows(shows)
+                    .build());
+        }
+        return summaries;
+    }
+
+    private AvailabilityDto.ShowSummary summarizeShow(Long eventId, LocalDateTime showDate,
+            List<EventSection> sections, Map<SectionKey, SectionOccupancy> occupancy, boolean cancelled) {
+        List<AvailabilityDto.SectionSummary> sectionSummaries = new ArrayList<>(sections.size());
+        long capacity = 0;
+        long sold = 0;
+        long held = 0;
+        for (EventSection section : sections) {
+            SectionOccupancy counts = occupancy.get(new SectionKey(eventId, showDate, section.getId()));
+            long sectionCapacity = (long) section.getRows() * section.getCols();
+            long sectionSold = counts != null ? counts.seatsSold() : 0;
+            long sectionHeld = counts != null ? counts.seatsHeld() : 0;
+            sectionSummaries.add(AvailabilityDto.SectionSummary.builder()
+                    .sectionId(section.getId())
+                    .name(section.getName())
+                    .capacity(sectionCapacity)
+                    .sold(sectionSold)
+                    .held(sectionHeld)
+                    .available(cancelled ? 0 : Math.max(0, sectionCapacity - sectionSold - sectionHeld))
+                    .build());
+            capacity += sectionCapacity;
+            sold += sectionSold;
+            held += sectionHeld;
+        }
+        return AvailabilityDto.ShowSummary.builder()
+                .showDate(showDate)
+                .cancelled(cancelled)
+                .capacity(capacity)
+                .sold(sold)
+                .held(held)
+                .available(cancelled ? 0 : Math.max(0, capacity - sold - held))
+                .sections(sectionSummaries)
+                .build();
+    }
+
+    /**
+     * Every date from the event's start to its end date, at each show time.
+     */
+    private List<LocalDateTime> scheduledShows(Event event) {
+        if (event.getStartDate() == null || event.getShowTimes() == null || event.getShowTimes().isEmpty()) {
+            return List.of();
+        }
+        LocalDate end = event.getEndDate() != null ? event.getEndDate() : event.getStartDate();
+        List<LocalTime> times = event.getShowTimes().stream().sorted().distinct().toList();
+        List<LocalDateTime> shows = new ArrayList<>();
+        for (LocalDate date = event.getStartDate(); !date.isAfter(end); date = date.plusDays(1)) {
+            for (LocalTime time : times) {
+                shows.add(date.atTime(time));
+            }
+        }
+        return shows;
+    }
+
+    private record SectionKey(Long eventId, LocalDateTime showDate, Long sectionId) {
+    }
+
+    private record ShowKey(Long eventId, LocalDateTime showDate) {
+    }
+
+    private record CachedSummary(AvailabilityDto.EventSummary summary, long expiresAt) {
+        private boolean isFresh(long now) {
+            return expiresAt - now > 0;
+        }
+    }
+}
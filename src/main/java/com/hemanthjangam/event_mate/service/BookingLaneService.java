@@ -0,0 +1,272 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.entity.Booking;
+import com.hemanthjangam.event_mate.exception.SeatUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional single-writer mode for booking creation. Requests for the same show
+ * are queued on one lane whose virtual-thread writer checks them against the
+ * seat inventory and the seats already claimed in its batch, rejects conflicts
+ * without touching the database and commits the rest in one transaction.
+ * When disabled, bookings go straight through {@link BookingService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingLaneService {
+
+    private final BookingService bookingService;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+
+    @Value("${app.booking.lanes.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.lanes.max-batch-size:32}")
+    private int maxBatchSize;
+
+    @Value("${app.booking.lanes.idle-timeout:PT30S}")
+    private Duration idleTimeout;
+
+    @Value("${app.booking.lanes.request-timeout:PT30S}")
+    private Duration requestTimeout;
+
+    private DistributionSummary batchSizes;
+    private Timer commitLatency;
+    private Counter conflicts;
+    private Counter groupCommitFallbacks;
+
+    /**
+     * Registers the lane meters.
+     */
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("booking.lanes.active", lanes, Map::size);
+        meterRegistry.gauge("booking.lanes.queue.depth", lanes,
+                activeLanes -> activeLanes.values().stream().mapToInt(lane -> lane.queue.size()).sum());
+        batchSizes = DistributionSummary.builder("booking.lanes.batch.size").register(meterRegistry);
+        commitLatency = Timer.builder("booking.lanes.commit.latency").register(meterRegistry);
+        conflicts = Counter.builder("booking.lanes.conflicts").register(meterRegistry);
+        groupCommitFallbacks = Counter.builder("booking.lanes.group.fallbacks").register(meterRegistry);
+    }
+
+    /**
+     * Stops accepting work on shutdown; queued requests fail fast instead of
+     * waiting for their timeout.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(lane -> lane.writer.interrupt());
+    }
+
+    /**
+     * Creates a booking through the show's lane when lanes are enabled and
+     * through the regular transactional path otherwise.
+     */
+    public BookingDto.BookingResponse createBooking(BookingDto.BookingRequest request) {
+        if (!enabled) {
+            return bookingService.createBooking(request);
+        }
+
+        BookingService.PreparedBooking prepared = bookingService.prepareBooking(request);
+        Booking booking = prepared.booking();
+        LaneRequest laneRequest = new LaneRequest(prepared, new CompletableFuture<>());
+        enqueue(new LaneKey(booking.getEvent().getId(), booking.getShowDate()), laneRequest);
+        return await(laneRequest.result);
+    }
+
+    /**
+     * Adds a request to the lane of its show, starting a writer when the show
+     * has no live lane.
+     */
+    private void enqueue(LaneKey key, LaneRequest request) {
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, this::startLane);
+            synchronized (lane) {
+                if (!lane.closed) {
+                    lane.queue.add(request);
+                    return;
+                }
+            }
+            lanes.remove(key, lane);
+        }
+    }
+
+    /**
+     * Waits for the writer's answer and unwraps booking errors for the caller.
+     */
+    private BookingDto.BookingResponse await(CompletableFuture<BookingDto.BookingResponse> result) {
+        try {
+            return result.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Booking lane failed.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Booking lane did not answer in time. Please check your bookings before retrying.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking lane.");
+        }
+    }
+
+    private Lane startLane(LaneKey key) {
+        Lane lane = new Lane();
+        lane.writer = Thread.ofVirtual()
+                .name("booking-lane-" + key.eventId() + "-" + key.showDate())
+                .start(() -> runLane(key, lane));
+        return lane;
+    }
+
+    /**
+     * Writer loop: drains up to one batch at a time and retires the lane after
+     * it has been idle for the configured timeout.
+     */
+    private void runLane(LaneKey key, Lane lane) {
+        try {
+            while (true) {
+                LaneRequest first = lane.queue.poll(idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    synchronized (lane) {
+                        if (lane.queue.isEmpty()) {
+                            lane.closed = true;
+                            lanes.remove(key, lane);
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                List<LaneRequest> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                lane.queue.drainTo(batch, maxBatchSize - 1);
+                processBatch(key, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lane) {
+                lane.closed = true;
+            }
+            lanes.remove(key, lane);
+            List<LaneRequest> abandoned = new ArrayList<>();
+            lane.queue.drainTo(abandoned);
+            abandoned.forEach(request -> request.result.completeExceptionally(
+                    new IllegalStateException("Booking lane stopped before the request was processed.")));
+        }
+    }
+
+    /**
+     * Answers conflicting requests immediately and group-commits the others.
+     */
+    private void processBatch(LaneKey key, List<LaneRequest> batch) {
+        batchSizes.record(batch.size());
+        Set<SeatCoordinate> claimed = new HashSet<>();
+        List<LaneRequest> accepted = new ArrayList<>(batch.size());
+        for (LaneRequest request : batch) {
+            try {
+                List<SeatCoordinate> unavailable = new ArrayList<>(bookingService.findUnavailableSeats(request.prepared));
+                request.prepared.seats().stream()
+                        .filter(claimed::contains)
+                        .filter(seat -> !unavailable.contains(seat))
+                        .forEach(unavailable::add);
+                if (!unavailable.isEmpty()) {
+                    conflicts.increment();
+                    request.result.completeExceptionally(new SeatUnavailableException("Seats already booked for this date: "
+                            + bookingService.describeSeats(request.prepared, unavailable)));
+                    continue;
+                }
+                claimed.addAll(request.prepared.seats());
+                accepted.add(request);
+            } catch (RuntimeException e) {
+                request.result.completeExceptionally(e);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            commitLatency.record(() -> commit(key, accepted));
+        }
+    }
+
+    /**
+     * Commits every accepted booking in one transaction. If the group fails,
+     * for example because another node took a seat, each booking is retried in
+     * its own transaction so one conflict does not sink the whole batch.
+     */
+    private void commit(LaneKey key, List<LaneRequest> accepted) {
+        try {
+            List<Booking> saved = transactionTemplate.execute(status -> accepted.stream()
+                    .map(request -> bookingService.persistBooking(request.prepared))
+                    .toList());
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).result.complete(bookingService.mapToResponse(saved.get(i)));
+            }
+        } catch (RuntimeException groupFailure) {
+            groupCommitFallbacks.increment();
+            log.debug("Group commit failed for event {} at {}, retrying individually: {}", key.eventId(),
+                    key.showDate(), groupFailure.getMessage());
+            seatInventoryService.invalidate(key.eventId(), key.showDate());
+            for (LaneRequest request : accepted) {
+                resetIdentifiers(request.prepared.booking());
+                try {
+                    Booking saved = transactionTemplate.execute(status -> bookingService.persistBooking(request.prepared));
+                    request.result.complete(bookingService.mapToResponse(saved));
+                } catch (RuntimeException e) {
+                    resetIdentifiers(request.prepared.booking());
+                    request.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears identifiers assigned by a rolled-back insert so the booking can be
+     * persisted again as new.
+     */
+    private void resetIdentifiers(Booking booking) {
+        booking.setId(null);
+        booking.getTickets().forEach(ticket -> ticket.setId(null));
+    }
+
+    private record LaneKey(Long eventId, LocalDateTime showDate) {
+    }
+
+    private record LaneRequest(BookingService.PreparedBooking prepared,
+            CompletableFuture<BookingDto.BookingResponse> result) {
+    }
+
+    private static final class Lane {
+        private final LinkedBlockingQueue<LaneRequest> queue = new LinkedBlockingQueue<>();
+        private Thread writer;
+        private boolean closed;
+    }
+}
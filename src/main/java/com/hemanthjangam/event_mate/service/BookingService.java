@@ -1,64 +1,137 @@
 package com.hemanthjangam.event_mate.service;
 
 import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.PricingDto;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
 import com.hemanthjangam.event_mate.entity.Booking;
 import com.hemanthjangam.event_mate.entity.Event;
 import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.OutboxMessage;
 import com.hemanthjangam.event_mate.entity.Payment;
 import com.hemanthjangam.event_mate.entity.PaymentStatus;
 import com.hemanthjangam.event_mate.entity.Role;
 import com.hemanthjangam.event_mate.entity.Ticket;
 import com.hemanthjangam.event_mate.entity.User;
 import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.exception.ConflictException;
 import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
+import com.hemanthjangam.event_mate.exception.SeatUnavailableException;
 import com.hemanthjangam.event_mate.repository.BookingRepository;
 import com.hemanthjangam.event_mate.repository.EventRepository;
 import com.hemanthjangam.event_mate.repository.EventSectionRepository;
 import com.hemanthjangam.event_mate.repository.PaymentRepository;
+import com.hemanthjangam.event_mate.repository.ShowCancellationRepository;
 import com.hemanthjangam.event_mate.repository.TicketRepository;
 import com.hemanthjangam.event_mate.repository.UserRepository;
 import com.stripe.model.checkout.Session;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    // Advisory lock namespace for show sections, keeping their keys apart from other lock users
+    private static final int SHOW_SECTION_LOCK = 0x5EA7;
+    // Advisory lock namespace for whole shows, taken shared by bookings and exclusively by show cancellation
+    private static final int SHOW_LOCK = 0x5E0C;
+
     private final BookingRepository bookingRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final PaymentRepository paymentRepository;
+    private final ShowCancellationRepository showCancellationRepository;
     private final EventSectionRepository eventSectionRepository;
     private final TicketRepository ticketRepository;
     private final EmailService emailService;
+    private final OutboxService outboxService;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final PricingService pricingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.booking.bulk.max-seats:5000}")
+    private int maxBulkSeats;
+
+    @Value("${app.booking.transitions.max-attempts:3}")
+    private int maxTransitionAttempts;
+
+    @Value("${app.booking.advisory-locks.enabled:false}")
+    private boolean advisoryLocks;
+
+    @Value("${app.booking.advisory-locks.wait:PT0.2S}")
+    private Duration advisoryLockWait;
 
     /**
-     * Creates a pending booking after validating the selected show date and seats.
+     * Creates a pending booking after validating the selected show date and
+     * seats. The seats are held until the hold deadline unless payment is
+     * confirmed first.
      */
     @Transactional
     public BookingDto.BookingResponse createBooking(BookingDto.BookingRequest request) {
+        PreparedBooking prepared = prepareBooking(request);
+        ensureSeatsAvailable(prepared);
+        if (advisoryLocks) {
+            lockSeats(request.getEventId(), request.getShowDate(), prepared.sections(), prepared.seats());
+        }
+        return mapToResponse(persistBooking(prepared));
+    }
+
+    /**
+     * Validates a booking request for the current user and builds the unsaved
+     * booking with its tickets. Seat availability is checked separately so a
+     * booking lane can check it against its own in-flight claims.
+     */
+    @Transactional
+    public PreparedBooking prepareBooking(BookingDto.BookingRequest request) {
         User user = getCurrentUser();
         Event event = eventRepository.findById(java.util.Objects.requireNonNull(request.getEventId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + request.getEventId()));
 
         validateBookingRequest(request, event);
+        Map<Long, EventSection> sections = loadRequestedSections(request, event);
+        Set<SeatCoordinate> seats = validateSeats(request, sections);
+        List<BigDecimal> prices = pricingService.priceSeats(event, request.getShowDate(), sections,
+                request.getTickets(), request.getQuoteToken(), user.getEmail());
 
         BigDecimal totalAmount = BigDecimal.ZERO;
         List<Ticket> tickets = new ArrayList<>();
-        for (BookingDto.TicketRequest ticketRequest : request.getTickets()) {
-            EventSection section = validateAndLoadSection(ticketRequest, event, request.getShowDate());
-            totalAmount = totalAmount.add(section.getPrice());
-            tickets.add(buildTicket(event, request.getShowDate(), section, ticketRequest));
+        for (int i = 0; i < request.getTickets().size(); i++) {
+            BookingDto.TicketRequest ticketRequest = request.getTickets().get(i);
+            EventSection section = sections.get(ticketRequest.getSectionId());
+            totalAmount = totalAmount.add(prices.get(i));
+            tickets.add(buildTicket(event, request.getShowDate(), section, ticketRequest, prices.get(i),
+                    Ticket.TicketStatus.HELD));
         }
 
         Booking booking = Booking.builder()
@@ -67,41 +140,296 @@ public class BookingService {
                 .bookingDate(LocalDateTime.now())
                 .showDate(request.getShowDate())
                 .paymentStatus(PaymentStatus.PENDING)
+                .holdExpiresAt(seatHoldService.newHoldDeadline())
                 .totalAmount(totalAmount)
                 .build();
 
         tickets.forEach(ticket -> ticket.setBooking(booking));
         booking.setTickets(tickets);
+        return new PreparedBooking(booking, sections, seats);
+    }
 
-        Booking savedBooking = bookingRepository.save(booking);
-        return mapToResponse(savedBooking);
+    /**
+     * Prices the requested seats at the current occupancy and returns a signed
+     * quote the client can book against until it expires.
+     */
+    @Transactional
+    public PricingDto.QuoteResponse quoteBooking(BookingDto.BookingRequest request) {
+        User user = getCurrentUser();
+        Event event = eventRepository.findById(java.util.Objects.requireNonNull(request.getEventId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + request.getEventId()));
+        validateBookingRequest(request, event);
+        Map<Long, EventSection> sections = loadRequestedSections(request, event);
+        validateSeats(request, sections);
+        return pricingService.quote(event, request.getShowDate(), sections, request.getTickets(), user.getEmail());
     }
 
     /**
-     * Confirms a booking after a successful Stripe checkout session lookup.
+     * Rejects the prepared booking when any of its seats is already taken.
+     */
+    void ensureSeatsAvailable(PreparedBooking prepared) {
+        List<SeatCoordinate> taken = findUnavailableSeats(prepared);
+        if (!taken.isEmpty()) {
+            throw new SeatUnavailableException("Seats already booked for this date: " + describeSeats(prepared, taken));
+        }
+    }
+
+    /**
+     * Returns the seats of the prepared booking that are already taken.
+     */
+    List<SeatCoordinate> findUnavailableSeats(PreparedBooking prepared) {
+        Booking booking = prepared.booking();
+        return findOccupiedSeats(booking.getEvent().getId(), booking.getShowDate(), prepared.seats());
+    }
+
+    /**
+     * Saves a prepared booking, starts its seat hold and announces the held
+     * seats. Must run inside a transaction. The show is checked for a
+     * cancellation again under the show lock, since a booking lane may commit
+     * long after the request was validated.
+     */
+    Booking persistBooking(PreparedBooking prepared) {
+        requireShowNotCancelled(prepared.booking().getEvent().getId(), prepared.booking().getShowDate());
+        Booking savedBooking = saveBooking(prepared.booking());
+        seatHoldService.track(savedBooking.getId(), savedBooking.getHoldExpiresAt());
+        publishSeatChange(savedBooking, SeatsChangedEvent.SeatState.FREE, SeatsChangedEvent.SeatState.HELD);
+        return savedBooking;
+    }
+
+    /**
+     * Holds seats for a waitlisted user as a pending booking whose hold is the
+     * claim window. Must run inside a transaction.
+     */
+    Booking createOffer(User user, Event event, EventSection section, LocalDateTime showDate,
+            List<SeatCoordinate> seats, Duration claimWindow) {
+        List<BookingDto.TicketRequest> ticketRequests = seats.stream()
+                .map(seat -> BookingDto.TicketRequest.builder()
+                        .sectionId(section.getId())
+                        .row(seat.row())
+                        .col(seat.col())
+                        .build())
+                .toList();
+        List<BigDecimal> prices = pricingService.livePrices(event, showDate, Map.of(section.getId(), section),
+                ticketRequests);
+        List<Ticket> tickets = new ArrayList<>(seats.size());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (int i = 0; i < ticketRequests.size(); i++) {
+            totalAmount = totalAmount.add(prices.get(i));
+            tickets.add(buildTicket(event, showDate, section, ticketRequests.get(i), prices.get(i),
+                    Ticket.TicketStatus.HELD));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Booking booking = Booking.builder()
+                .user(user)
+                .event(event)
+                .bookingDate(now)
+                .showDate(showDate)
+                .paymentStatus(PaymentStatus.PENDING)
+                .holdExpiresAt(now.plus(claimWindow))
+                .totalAmount(totalAmount)
+                .build();
+        tickets.forEach(ticket -> ticket.setBooking(booking));
+        booking.setTickets(tickets);
+        return persistBooking(new PreparedBooking(booking, Map.of(section.getId(), section), new LinkedHashSet<>(seats)));
+    }
+
+    /**
+     * Formats seats of a prepared booking for validation messages.
+     */
+    String describeSeats(PreparedBooking prepared, Collection<SeatCoordinate> seats) {
+        return seats.stream()
+                .map(seat -> describeSeat(prepared.sections().get(seat.sectionId()), seat))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Books whole sections, whole rows and individual seats for a corporate
+     * customer in one transaction. The booking is invoiced rather than paid by
+     * card, so it is created completed with booked seats and no hold. Ticket
+     * rows are written with JDBC batching.
      */
     @Transactional
-    public void confirmStripeCheckoutSession(Long bookingId, Session session) {
-        Booking booking = getAuthorizedPendingBooking(bookingId);
-        if (!"paid".equalsIgnoreCase(session.getPaymentStatus())) {
-            throw new BadRequestException("Stripe session is not paid.");
+    public BookingDto.BookingResponse createBulkBooking(BookingDto.BulkBookingRequest request) {
+        if (request.getCustomerEmail() == null || request.getCustomerEmail().isBlank()) {
+            throw new BadRequestException("Customer email is required.");
         }
+        User customer = userRepository.findByEmail(request.getCustomerEmail())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + request.getCustomerEmail()));
+        Event event = eventRepository.findById(java.util.Objects.requireNonNull(request.getEventId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + request.getEventId()));
 
-        String metadataBookingId = session.getMetadata() != null ? session.getMetadata().get("booking_id") : null;
-        if (metadataBookingId == null || !metadataBookingId.equals(bookingId.toString())) {
-            throw new BadRequestException("Stripe session does not match the booking.");
+        BookingDto.BookingRequest expanded = BookingDto.BookingRequest.builder()
+                .eventId(event.getId())
+                .showDate(request.getShowDate())
+                .tickets(expandBulkSelection(request, event))
+                .paymentMethod("INVOICE")
+                .build();
+        validateBookingRequest(expanded, event);
+        if (expanded.getTickets().size() > maxBulkSeats) {
+            throw new BadRequestException("A bulk booking can contain at most " + maxBulkSeats + " seats.");
+        }
+        Map<Long, EventSection> sections = loadRequestedSections(expanded, event);
+        Set<SeatCoordinate> seats = validateSeats(expanded, sections);
+
+        List<SeatCoordinate> taken;
+        if (advisoryLocks) {
+            lockShowSections(event.getId(), request.getShowDate(), sections.keySet());
+            taken = findOccupiedSeatsInDatabase(event.getId(), request.getShowDate(), seats);
+        } else {
+            taken = findOccupiedSeats(event.getId(), request.getShowDate(), seats);
+        }
+        if (!taken.isEmpty()) {
+            throw new SeatUnavailableException(taken.size() + " of the selected seats are already taken, for example: "
+                    + taken.stream().limit(20).map(seat -> describeSeat(sections.get(seat.sectionId()), seat))
+                            .collect(Collectors.joining(", ")));
         }
 
-        confirmBookingPayment(booking, "STRIPE");
+        List<BigDecimal> prices = pricingService.livePrices(event, request.getShowDate(), sections,
+                expanded.getTickets());
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<Ticket> tickets = new ArrayList<>(expanded.getTickets().size());
+        for (int i = 0; i < expanded.getTickets().size(); i++) {
+            BookingDto.TicketRequest ticketRequest = expanded.getTickets().get(i);
+            EventSection section = sections.get(ticketRequest.getSectionId());
+            totalAmount = totalAmount.add(prices.get(i));
+            tickets.add(buildTicket(event, request.getShowDate(), section, ticketRequest, prices.get(i),
+                    Ticket.TicketStatus.BOOKED));
+        }
+        Booking booking = Booking.builder()
+                .user(customer)
+                .event(event)
+                .bookingDate(LocalDateTime.now())
+                .showDate(request.getShowDate())
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .totalAmount(totalAmount)
+                .build();
+        tickets.forEach(ticket -> ticket.setBooking(booking));
+        booking.setTickets(tickets);
+
+        requireShowNotCancelled(event.getId(), request.getShowDate());
+        Booking savedBooking = saveBooking(booking);
+        paymentRepository.save(Payment.builder()
+                .booking(savedBooking)
+                .amount(totalAmount)
+                .method("INVOICE")
+                .status(PaymentStatus.COMPLETED)
+                .paymentDate(LocalDateTime.now())
+                .build());
+        publishSeatChange(savedBooking, SeatsChangedEvent.SeatState.FREE, SeatsChangedEvent.SeatState.BOOKED);
+        queueBookingConfirmation(savedBooking);
+        return mapToResponse(savedBooking);
+    }
+
+    /**
+     * Confirms a booking after a successful Stripe checkout session lookup.
+     * Returns false when the booking can no longer take the payment, because
+     * its hold lapsed or it was cancelled first; the payment is then recorded
+     * as refunded and the refund is queued.
+     */
+    public boolean confirmStripeCheckoutSession(Long bookingId, Session session) {
+        AtomicBoolean confirmed = new AtomicBoolean();
+        AtomicBoolean holdLapsed = new AtomicBoolean();
+        runTransition("confirm", () -> {
+            Booking booking = getAuthorizedBooking(bookingId);
+            if (!"paid".equalsIgnoreCase(session.getPaymentStatus())) {
+                throw new BadRequestException("Stripe session is not paid.");
+            }
+
+            String metadataBookingId = session.getMetadata() != null ? session.getMetadata().get("booking_id") : null;
+            if (metadataBookingId == null || !metadataBookingId.equals(bookingId.toString())) {
+                throw new BadRequestException("Stripe session does not match the booking.");
+            }
+
+            confirmed.set(confirmBookingPayment(booking, "STRIPE", session.getPaymentIntent()));
+            holdLapsed.set(booking.getPaymentStatus() == PaymentStatus.PENDING && isHoldExpired(booking));
+        });
+        if (confirmed.get()) {
+            return true;
+        }
+        if (holdLapsed.get()) {
+            // Release the seats now rather than on the next sweep, so the booking is final before the refund
+            seatHoldService.expireNow(bookingId);
+        }
+        runTransition("refund", () -> refundLatePayment(bookingId, session.getPaymentIntent()));
+        return false;
     }
 
     /**
      * Confirms a booking payment for authorized users and records the payment.
+     * Confirming a booking that is already completed is a no-op.
      */
-    @Transactional
     public void confirmBookingPayment(Long bookingId, String paymentMethod) {
-        Booking booking = getAuthorizedPendingBooking(bookingId);
-        confirmBookingPayment(booking, paymentMethod);
+        AtomicReference<String> refusal = new AtomicReference<>();
+        runTransition("confirm", () -> {
+            Booking booking = getAuthorizedBooking(bookingId);
+            refusal.set(null);
+            if (!confirmBookingPayment(booking, paymentMethod, null)) {
+                // Refused after commit, so a booking released for a cancelled show stays released
+                refusal.set(isHoldExpired(booking)
+                        ? "Seat hold has expired. Please select your seats again."
+                        : showCancellationRepository.existsByEvent_IdAndShowDate(booking.getEvent().getId(),
+                                booking.getShowDate())
+                                ? "This show has been cancelled."
+                                : "Booking is not pending payment.");
+            }
+        });
+        if (refusal.get() != null) {
+            throw new BadRequestException(refusal.get());
+        }
+    }
+
+    /**
+     * Runs a booking state transition in its own transaction, retrying it a
+     * bounded number of times when it loses an optimistic locking race.
+     */
+    void runTransition(String transition, Runnable work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> work.run());
+                return;
+            } catch (ConcurrencyFailureException e) {
+                meterRegistry.counter("booking.transitions.contention", "transition", transition).increment();
+                if (attempt >= maxTransitionAttempts) {
+                    throw new ConflictException("The booking was changed by another request. Please try again.");
+                }
+                meterRegistry.counter("booking.transitions.retries", "transition", transition).increment();
+            }
+        }
+    }
+
+    /**
+     * Moves a booking from one payment status to another with a conditional
+     * update. Returns false when another request moved it first.
+     */
+    boolean transitionPaymentStatus(Long bookingId, String transition, PaymentStatus from, PaymentStatus to) {
+        if (bookingRepository.transitionPaymentStatus(bookingId, from, to) == 1) {
+            return true;
+        }
+        meterRegistry.counter("booking.transitions.lost", "transition", transition).increment();
+        return false;
+    }
+
+    /**
+     * Sends the confirmation email of a completed booking. Called by the outbox
+     * dispatcher after the confirming transaction has committed.
+     */
+    @Transactional
+    public void sendBookingConfirmation(Long bookingId) {
+        Booking booking = bookingRepository.findById(java.util.Objects.requireNonNull(bookingId))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        User user = booking.getUser();
+        Event event = booking.getEvent();
+        emailService.sendEmail(
+                user.getEmail(),
+                "Booking Confirmation - " + event.getTitle(),
+                "Hi " + user.getName() + ",\n\n"
+                        + "Your booking for " + event.getTitle() + " has been confirmed!\n\n"
+                        + "Booking ID: " + booking.getId() + "\n"
+                        + "Show Date: " + booking.getShowDate() + "\n"
+                        + "Venue: " + event.getVenue() + "\n"
+                        + "Seats: " + booking.getTickets().stream().map(Ticket::getSeatNo).collect(Collectors.joining(", ")) + "\n"
+                        + "Total Amount: $" + booking.getTotalAmount() + "\n\n"
+                        + "Enjoy the event!\n\nThe Event Mate Team");
     }
 
     /**
@@ -117,7 +445,7 @@ public class BookingService {
     /**
      * Builds a booking response payload for the frontend.
      */
-    private BookingDto.BookingResponse mapToResponse(Booking booking) {
+    BookingDto.BookingResponse mapToResponse(Booking booking) {
         return BookingDto.BookingResponse.builder()
                 .bookingId(booking.getId())
                 .eventId(booking.getEvent().getId())
@@ -125,6 +453,7 @@ public class BookingService {
                 .bookingDate(booking.getBookingDate())
                 .showDate(booking.getShowDate())
                 .paymentStatus(booking.getPaymentStatus().name())
+                .holdExpiresAt(booking.getHoldExpiresAt())
                 .totalAmount(booking.getTotalAmount())
                 .tickets(booking.getTickets().stream().map(Ticket::getSeatNo).collect(Collectors.toList()))
                 .customerName(booking.getUser().getName())
@@ -143,11 +472,19 @@ public class BookingService {
      * Returns booked seats for a specific event show date and time.
      */
     public List<String> getBookedSeats(Long eventId, LocalDateTime showDate) {
-        return ticketRepository.findByEvent_IdAndShowDate(eventId, showDate).stream()
-                .map(ticket -> ticket.getSection().getName() + "-" + ticket.getRowNumber() + "-" + ticket.getColNumber())
+        return ticketRepository.findByEvent_IdAndShowDateAndStatusIn(eventId, showDate,
+                SeatInventoryService.OCCUPYING_STATUSES).stream()
+                .map(ticket -> seatLabel(ticket.getSection().getName(), ticket.getRowNumber(), ticket.getColNumber()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Formats a seat the way ticket seat numbers and booked-seat lists show it.
+     */
+    static String seatLabel(String sectionName, int row, int col) {
+        return sectionName + "-" + row + "-" + col;
+    }
+
     /**
      * Returns bookings for events owned by the authenticated admin.
      */
@@ -183,13 +520,16 @@ public class BookingService {
         if (booking.getPaymentStatus() != PaymentStatus.PENDING) {
             throw new BadRequestException("Booking is not pending payment.");
         }
+        if (isHoldExpired(booking)) {
+            throw new BadRequestException("Seat hold has expired. Please select your seats again.");
+        }
         return booking;
     }
 
     /**
      * Loads the current authenticated user from the security context.
      */
-    private User getCurrentUser() {
+    User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getName() == null) {
             throw new BadRequestException("Authentication is required.");
@@ -208,9 +548,16 @@ public class BookingService {
         if (request.getTickets() == null || request.getTickets().isEmpty()) {
             throw new BadRequestException("At least one seat must be selected.");
         }
+        validateShow(event, request.getShowDate());
+    }
 
-        java.time.LocalDate showLocalDate = request.getShowDate().toLocalDate();
-        java.time.LocalTime showLocalTime = request.getShowDate().toLocalTime();
+    /**
+     * Checks that the show date falls within the event's run, at one of its
+     * show times, and has not been cancelled.
+     */
+    void validateShow(Event event, LocalDateTime showDate) {
+        java.time.LocalDate showLocalDate = showDate.toLocalDate();
+        java.time.LocalTime showLocalTime = showDate.toLocalTime();
 
         if (showLocalDate.isBefore(event.getStartDate()) || showLocalDate.isAfter(event.getEndDate())) {
             throw new BadRequestException("Show date is not within the event range.");
@@ -218,50 +565,236 @@ public class BookingService {
         if (event.getShowTimes() == null || event.getShowTimes().stream().noneMatch(showLocalTime::equals)) {
             throw new BadRequestException("Invalid show time selected.");
         }
+        if (showCancellationRepository.existsByEvent_IdAndShowDate(event.getId(), showDate)) {
+            throw new BadRequestException("This show has been cancelled.");
+        }
     }
 
     /**
-     * Ensures the requested seat belongs to the event and is still available.
+     * Loads every section referenced by the request in one query and rejects
+     * sections that are unknown or belong to another event.
      */
-    private EventSection validateAndLoadSection(BookingDto.TicketRequest ticketRequest, Event event, LocalDateTime showDate) {
-        EventSection section = eventSectionRepository.findById(java.util.Objects.requireNonNull(ticketRequest.getSectionId()))
-                .orElseThrow(() -> new ResourceNotFoundException("Section not found with id: " + ticketRequest.getSectionId()));
+    private Map<Long, EventSection> loadRequestedSections(BookingDto.BookingRequest request, Event event) {
+        Set<Long> sectionIds = new HashSet<>();
+        for (BookingDto.TicketRequest ticketRequest : request.getTickets()) {
+            if (ticketRequest.getSectionId() == null) {
+                throw new BadRequestException("Every selected seat must reference a section.");
+            }
+            sectionIds.add(ticketRequest.getSectionId());
+        }
 
-        if (!section.getEvent().getId().equals(event.getId())) {
-            throw new BadRequestException("Selected section does not belong to the requested event.");
+        Map<Long, EventSection> sections = eventSectionRepository.findByIdInAndEvent_Id(sectionIds, event.getId())
+                .stream()
+                .collect(Collectors.toMap(EventSection::getId, section -> section));
+        List<Long> missing = sectionIds.stream().filter(id -> !sections.containsKey(id)).sorted().toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Selected sections do not belong to the requested event: " + missing);
         }
-        if (ticketRequest.getRow() < 1 || ticketRequest.getRow() > section.getRows()
-                || ticketRequest.getCol() < 1 || ticketRequest.getCol() > section.getCols()) {
-            throw new BadRequestException("Selected seat is outside the section bounds.");
+        return sections;
+    }
+
+    /**
+     * Turns the whole-section, whole-row and single-seat selections of a bulk
+     * request into individual seat requests.
+     */
+    private List<BookingDto.TicketRequest> expandBulkSelection(BookingDto.BulkBookingRequest request, Event event) {
+        Map<Long, EventSection> eventSections = eventSectionRepository.findByEvent_Id(event.getId()).stream()
+                .collect(Collectors.toMap(EventSection::getId, section -> section));
+        List<BookingDto.TicketRequest> tickets = new ArrayList<>();
+        if (request.getSectionIds() != null) {
+            for (Long sectionId : request.getSectionIds()) {
+                EventSection section = eventSections.get(sectionId);
+                if (section == null) {
+                    throw new BadRequestException("Selected sections do not belong to the requested event: " + sectionId);
+                }
+                for (int row = 1; row <= section.getRows(); row++) {
+                    addRow(tickets, section, row);
+                }
+            }
         }
-        if (ticketRepository.existsByEvent_IdAndShowDateAndSection_IdAndRowNumberAndColNumber(
-                event.getId(), showDate, section.getId(), ticketRequest.getRow(), ticketRequest.getCol())) {
-            throw new BadRequestException("Seat already booked for this date: " + section.getName()
-                    + " Row " + ticketRequest.getRow() + " Col " + ticketRequest.getCol());
+        if (request.getRows() != null) {
+            for (BookingDto.RowRequest rowRequest : request.getRows()) {
+                EventSection section = eventSections.get(rowRequest.getSectionId());
+                if (section == null) {
+                    throw new BadRequestException("Selected sections do not belong to the requested event: "
+                            + rowRequest.getSectionId());
+                }
+                if (rowRequest.getRow() < 1 || rowRequest.getRow() > section.getRows()) {
+                    throw new BadRequestException("Row " + rowRequest.getRow() + " does not exist in " + section.getName());
+                }
+                addRow(tickets, section, rowRequest.getRow());
+            }
+        }
+        if (request.getTickets() != null) {
+            tickets.addAll(request.getTickets());
+        }
+        return tickets;
+    }
+
+    private void addRow(List<BookingDto.TicketRequest> tickets, EventSection section, int row) {
+        for (int col = 1; col <= section.getCols(); col++) {
+            tickets.add(BookingDto.TicketRequest.builder().sectionId(section.getId()).row(row).col(col).build());
+        }
+    }
+
+    /**
+     * Checks every requested seat at once and reports all invalid or duplicated
+     * seats in a single error instead of stopping at the first.
+     */
+    private Set<SeatCoordinate> validateSeats(BookingDto.BookingRequest request, Map<Long, EventSection> sections) {
+        Set<SeatCoordinate> seats = new LinkedHashSet<>();
+        List<String> outOfBounds = new ArrayList<>();
+        List<String> duplicates = new ArrayList<>();
+        for (BookingDto.TicketRequest ticketRequest : request.getTickets()) {
+            EventSection section = sections.get(ticketRequest.getSectionId());
+            SeatCoordinate seat = new SeatCoordinate(section.getId(), ticketRequest.getRow(), ticketRequest.getCol());
+            if (ticketRequest.getRow() < 1 || ticketRequest.getRow() > section.getRows()
+                    || ticketRequest.getCol() < 1 || ticketRequest.getCol() > section.getCols()) {
+                outOfBounds.add(describeSeat(section, seat));
+            } else if (!seats.add(seat)) {
+                duplicates.add(describeSeat(section, seat));
+            }
+        }
+        if (!outOfBounds.isEmpty()) {
+            throw new BadRequestException("Selected seats are outside the section bounds: "
+                    + String.join(", ", outOfBounds));
+        }
+        if (!duplicates.isEmpty()) {
+            throw new BadRequestException("Seats selected more than once: " + String.join(", ", duplicates));
+        }
+        return seats;
+    }
+
+    /**
+     * Returns the requested seats that are already taken, answered by the
+     * in-memory inventory or, when it is disabled, by one query over tickets.
+     */
+    private List<SeatCoordinate> findOccupiedSeats(Long eventId, LocalDateTime showDate, Set<SeatCoordinate> seats) {
+        if (seatInventoryService.isEnabled()) {
+            return seatInventoryService.findOccupied(eventId, showDate, seats);
         }
-        return section;
+        return findOccupiedSeatsInDatabase(eventId, showDate, seats);
+    }
+
+    private List<SeatCoordinate> findOccupiedSeatsInDatabase(Long eventId, LocalDateTime showDate,
+            Set<SeatCoordinate> seats) {
+        Set<Long> sectionIds = new HashSet<>();
+        Set<Integer> rows = new HashSet<>();
+        Set<Integer> cols = new HashSet<>();
+        for (SeatCoordinate seat : seats) {
+            sectionIds.add(seat.sectionId());
+            rows.add(seat.row());
+            cols.add(seat.col());
+        }
+        // The query matches a superset of the requested tuples; keep the exact ones
+        return ticketRepository.findSeatCandidates(eventId, showDate, sectionIds, rows, cols,
+                SeatInventoryService.OCCUPYING_STATUSES).stream()
+                .filter(seats::contains)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Advisory-lock mode: serialises bookings of the same show sections across
+     * nodes and rechecks the seats against the database, which is exact once
+     * the locks are held. A losing request fails here with a conflict or an
+     * unavailable seat instead of inserting its tickets and rolling back on
+     * the unique seat index.
+     */
+    private void lockSeats(Long eventId, LocalDateTime showDate, Map<Long, EventSection> sections,
+            Set<SeatCoordinate> seats) {
+        lockShowSections(eventId, showDate, sections.keySet());
+        List<SeatCoordinate> taken = findOccupiedSeatsInDatabase(eventId, showDate, seats);
+        if (!taken.isEmpty()) {
+            seatInventoryService.invalidate(eventId, showDate);
+            throw new SeatUnavailableException("Seats already booked for this date: " + taken.stream()
+                    .map(seat -> describeSeat(sections.get(seat.sectionId()), seat))
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * Takes a transaction-scoped advisory lock per show section, in section
+     * order so two multi-section bookings cannot wait on each other. Keys are
+     * derived from the event, show and section alone, so every node computes
+     * the same key. A lock held elsewhere is retried with a short jittered
+     * pause until the configured wait runs out.
+     */
+    private void lockShowSections(Long eventId, LocalDateTime showDate, Collection<Long> sectionIds) {
+        long deadline = System.nanoTime() + advisoryLockWait.toNanos();
+        for (Long sectionId : new TreeSet<>(sectionIds)) {
+            int key = Objects.hash(eventId, showDate, sectionId);
+            while (!ticketRepository.tryAdvisoryLock(SHOW_SECTION_LOCK, key)) {
+                if (System.nanoTime() >= deadline) {
+                    meterRegistry.counter("booking.advisory-locks.conflicts").increment();
+                    throw new ConflictException("These seats are being booked by someone else. Please try again.");
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(2, 10));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ConflictException("Booking was interrupted while waiting for the seats.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Formats a seat for validation messages.
+     */
+    private String describeSeat(EventSection section, SeatCoordinate seat) {
+        return section.getName() + " Row " + seat.row() + " Col " + seat.col();
+    }
+
+    /**
+     * Flushes the booking so a unique seat index violation surfaces here, where
+     * the stale inventory entry for the show can be dropped.
+     */
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            meterRegistry.counter("booking.seat-index.conflicts").increment();
+            seatInventoryService.invalidate(booking.getEvent().getId(), booking.getShowDate());
+            throw new SeatUnavailableException("One or more selected seats were just booked by someone else.");
+        }
+    }
+
+    /**
+     * Announces a seat state change for the booking's tickets once the
+     * transaction commits.
+     */
+    private void publishSeatChange(Booking booking, SeatsChangedEvent.SeatState previous,
+            SeatsChangedEvent.SeatState current) {
+        List<SeatCoordinate> seats = booking.getTickets().stream()
+                .map(ticket -> new SeatCoordinate(ticket.getSection().getId(), ticket.getRowNumber(), ticket.getColNumber()))
+                .collect(Collectors.toList());
+        List<BigDecimal> prices = booking.getTickets().stream().map(Ticket::getPrice).collect(Collectors.toList());
+        eventPublisher.publishEvent(new SeatsChangedEvent(booking.getEvent().getId(), booking.getShowDate(),
+                previous, current, seats, prices));
     }
 
     /**
-     * Creates the seat-level ticket record for the chosen section and coordinates.
+     * Creates the seat-level ticket record for the chosen section and
+     * coordinates at the price worked out for it.
      */
-    private Ticket buildTicket(Event event, LocalDateTime showDate, EventSection section, BookingDto.TicketRequest ticketRequest) {
+    private Ticket buildTicket(Event event, LocalDateTime showDate, EventSection section,
+            BookingDto.TicketRequest ticketRequest, BigDecimal price, Ticket.TicketStatus status) {
         return Ticket.builder()
                 .event(event)
                 .showDate(showDate)
-                .seatNo(section.getName() + "-" + ticketRequest.getRow() + "-" + ticketRequest.getCol())
+                .seatNo(seatLabel(section.getName(), ticketRequest.getRow(), ticketRequest.getCol()))
                 .rowNumber(ticketRequest.getRow())
                 .colNumber(ticketRequest.getCol())
                 .section(section)
-                .price(section.getPrice())
-                .status(Ticket.TicketStatus.BOOKED)
+                .price(price)
+                .status(status)
                 .build();
     }
 
     /**
      * Loads a booking and verifies the current user can access it.
      */
-    private Booking getAuthorizedBooking(Long bookingId) {
+    Booking getAuthorizedBooking(Long bookingId) {
         Booking booking = bookingRepository.findById(java.util.Objects.requireNonNull(bookingId))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
 
@@ -278,44 +811,150 @@ public class BookingService {
     }
 
     /**
-     * Persists the completed payment state and sends the booking confirmation
-     * email.
+     * Moves the booking from pending to completed, promotes the held seats,
+     * records the payment and sends the booking confirmation email. Only the
+     * request that wins the conditional update does this work; a request that
+     * finds the booking already completed returns without changes.
      */
-    private void confirmBookingPayment(Booking booking, String paymentMethod) {
+    private boolean confirmBookingPayment(Booking booking, String paymentMethod, String transactionReference) {
+        Long bookingId = booking.getId();
         if (booking.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            return true;
+        }
+        if (booking.getPaymentStatus() != PaymentStatus.PENDING || isHoldExpired(booking)) {
+            return false;
+        }
+        if (isShowCancelled(booking.getEvent().getId(), booking.getShowDate())) {
+            releaseForCancelledShow(booking);
+            return false;
+        }
+
+        if (!transitionPaymentStatus(bookingId, "confirm", PaymentStatus.PENDING, PaymentStatus.COMPLETED)) {
+            return bookingRepository.findPaymentStatusById(bookingId).orElse(null) == PaymentStatus.COMPLETED;
+        }
+
+        // The conditional update cleared the persistence context
+        Booking confirmed = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        promoteHeldSeats(confirmed);
+        paymentRepository.upsert(bookingId, confirmed.getTotalAmount(), paymentMethod,
+                PaymentStatus.COMPLETED.name(), LocalDateTime.now(), transactionReference);
+        queueBookingConfirmation(confirmed);
+        return true;
+    }
+
+    /**
+     * Records a Stripe payment that arrived for a booking that can no longer
+     * take it and queues its refund. A payment that is already recorded is not
+     * refunded again; a second payment for a booking that was already paid
+     * cannot be stored next to the first and is refused.
+     */
+    private void refundLatePayment(Long bookingId, String paymentIntent) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        if (booking.getPaymentStatus() == PaymentStatus.PENDING
+                || booking.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            throw new ConflictException("The booking was changed by another request. Please try again.");
+        }
+        Payment payment = paymentRepository.findByBookingId(bookingId).orElse(null);
+        if (payment != null && Objects.equals(payment.getTransactionReference(), paymentIntent)) {
             return;
         }
+        if (payment != null && payment.getTransactionReference() != null) {
+            meterRegistry.counter("booking.payments.late", "outcome", "unrecorded").increment();
+            throw new ConflictException("The booking was already paid with another payment. Please contact support.");
+        }
+        paymentRepository.upsert(bookingId, booking.getTotalAmount(), "STRIPE", PaymentStatus.REFUNDED.name(),
+                LocalDateTime.now(), paymentIntent);
+        outboxService.enqueue(OutboxMessage.Type.REFUND, new OutboxService.BookingPayload(bookingId));
+        meterRegistry.counter("booking.payments.late", "outcome", "refunded").increment();
+    }
 
-        booking.setPaymentStatus(PaymentStatus.COMPLETED);
-        bookingRepository.save(booking);
+    /**
+     * Fails a pending booking of a cancelled show and frees its seats, so a
+     * payment that arrives for it goes down the late payment refund path.
+     * Show cancellation fails every pending booking it can see, so this only
+     * catches one that slipped past it.
+     */
+    private void releaseForCancelledShow(Booking booking) {
+        Long bookingId = booking.getId();
+        if (!transitionPaymentStatus(bookingId, "confirm", PaymentStatus.PENDING, PaymentStatus.FAILED)) {
+            return;
+        }
+        // The conditional update cleared the persistence context
+        Booking failed = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        // Reads the tickets before the update below changes them behind the session's back
+        publishSeatChange(failed, SeatsChangedEvent.SeatState.HELD, SeatsChangedEvent.SeatState.FREE);
+        ticketRepository.updateStatusForBookings(List.of(bookingId), Ticket.TicketStatus.HELD,
+                Ticket.TicketStatus.CANCELLED);
+        seatHoldService.release(List.of(bookingId));
+    }
 
-        Payment payment = paymentRepository.findByBookingId(booking.getId())
-                .orElse(Payment.builder().booking(booking).build());
-        payment.setAmount(booking.getTotalAmount());
-        payment.setMethod(paymentMethod);
-        payment.setStatus(PaymentStatus.COMPLETED);
-        payment.setPaymentDate(LocalDateTime.now());
-        paymentRepository.save(payment);
+    /**
+     * Rejects a booking for a show that has been cancelled. Must run inside the
+     * transaction that writes the booking.
+     */
+    private void requireShowNotCancelled(Long eventId, LocalDateTime showDate) {
+        if (isShowCancelled(eventId, showDate)) {
+            throw new BadRequestException("This show has been cancelled.");
+        }
+    }
 
-        sendBookingConfirmation(booking);
+    /**
+     * Takes the show lock in shared mode and checks for a cancellation. A
+     * cancellation in progress holds the lock exclusively, so this waits for
+     * it to commit and then sees it; a cancellation that starts later waits
+     * for this transaction and then sees its booking.
+     */
+    private boolean isShowCancelled(Long eventId, LocalDateTime showDate) {
+        showCancellationRepository.lockShowShared(SHOW_LOCK, showLockKey(eventId, showDate));
+        return showCancellationRepository.existsByEvent_IdAndShowDate(eventId, showDate);
     }
 
     /**
-     * Sends the booking confirmation message after a successful payment.
+     * Locks the show exclusively for its cancellation, waiting for bookings
+     * and confirmations of the show that are being written. Must run inside
+     * the cancelling transaction.
      */
-    private void sendBookingConfirmation(Booking booking) {
-        User user = booking.getUser();
-        Event event = booking.getEvent();
-        emailService.sendEmail(
-                user.getEmail(),
-                "Booking Confirmation - " + event.getTitle(),
-                "Hi " + user.getName() + ",\n\n"
-                        + "Your booking for " + event.getTitle() + " has been confirmed!\n\n"
-                        + "Booking ID: " + booking.getId() + "\n"
-                        + "Show Date: " + booking.getShowDate() + "\n"
-                        + "Venue: " + event.getVenue() + "\n"
-                        + "Seats: " + booking.getTickets().stream().map(Ticket::getSeatNo).collect(Collectors.joining(", ")) + "\n"
-                        + "Total Amount: $" + booking.getTotalAmount() + "\n\n"
-                        + "Enjoy the event!\n\nThe Event Mate Team");
+    void lockShowForCancellation(Long eventId, LocalDateTime showDate) {
+        showCancellationRepository.lockShowExclusive(SHOW_LOCK, showLockKey(eventId, showDate));
+    }
+
+    private static int showLockKey(Long eventId, LocalDateTime showDate) {
+        return Objects.hash(eventId, showDate);
+    }
+
+    private boolean isHoldExpired(Booking booking) {
+        return booking.getHoldExpiresAt() != null && booking.getHoldExpiresAt().isBefore(LocalDateTime.now());
+    }
+
+    /**
+     * Queues the confirmation email in the booking's transaction; the email is
+     * built and sent by the outbox dispatcher after commit.
+     */
+    private void queueBookingConfirmation(Booking booking) {
+        outboxService.enqueue(OutboxMessage.Type.BOOKING_CONFIRMATION, new OutboxService.BookingPayload(booking.getId()));
+    }
+
+    /**
+     * Turns the booking's held tickets into booked tickets. Fails when the hold
+     * was already released by the expiry sweeper.
+     */
+    private void promoteHeldSeats(Booking booking) {
+        List<Long> bookingIds = List.of(booking.getId());
+        ticketRepository.updateStatusForBookings(bookingIds, Ticket.TicketStatus.HELD, Ticket.TicketStatus.BOOKED);
+        long booked = ticketRepository.countByBooking_IdAndStatus(booking.getId(), Ticket.TicketStatus.BOOKED);
+        if (booked != booking.getTickets().size()) {
+            throw new BadRequestException("Seat hold expired before the payment was confirmed.");
+        }
+        seatHoldService.markConverted(booking.getId());
+        publishSeatChange(booking, SeatsChangedEvent.SeatState.HELD, SeatsChangedEvent.SeatState.BOOKED);
+    }
+
+    /**
+     * Unsaved booking together with the sections and seats it references.
+     */
+    public record PreparedBooking(Booking booking, Map<Long, EventSection> sections, Set<SeatCoordinate> seats) {
     }
 }
@@ -0,0 +1,267 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.PricedSeat;
+import com.hemanthjangam.event_mate.entity.Booking;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.OutboxMessage;
+import com.hemanthjangam.event_mate.entity.Payment;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
+import com.hemanthjangam.event_mate.entity.ShowCancellation;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.entity.User;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.exception.ConflictException;
+import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
+import com.hemanthjangam.event_mate.repository.BookingRepository;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.NotificationRepository;
+import com.hemanthjangam.event_mate.repository.PaymentRepository;
+import com.hemanthjangam.event_mate.repository.ShowCancellationRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import com.stripe.exception.StripeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Cancels single bookings and whole shows. Tickets, bookings and payments move
+ * with one set-based update each, which also frees the seats for the partial
+ * unique seat index, and refunds, cancellation emails and in-app notifications
+ * are written with one insert per kind. Stripe refunds and emails are sent
+ * later by the outbox dispatcher.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CancellationService {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final TicketRepository ticketRepository;
+    private final PaymentRepository paymentRepository;
+    private final NotificationRepository notificationRepository;
+    private final ShowCancellationRepository showCancellationRepository;
+    private final EventRepository eventRepository;
+    private final OutboxService outboxService;
+    private final SeatHoldService seatHoldService;
+    private final StripeService stripeService;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private Counter bookingsCancelled;
+    private Counter refundsIssued;
+    private Timer showCancellationLatency;
+
+    /**
+     * Registers the cancellation meters.
+     */
+    @PostConstruct
+    public void init() {
+        bookingsCancelled = Counter.builder("booking.cancellations").register(meterRegistry);
+        refundsIssued = Counter.builder("booking.refunds.issued").register(meterRegistry);
+        showCancellationLatency = Timer.builder("booking.show.cancellation.latency").register(meterRegistry);
+    }
+
+    /**
+     * Cancels a pending or paid booking for an upcoming show. Paid bookings
+     * are refunded; pending ones simply give up their held seats.
+     */
+    public BookingDto.BookingResponse cancelBooking(Long bookingId) {
+        bookingService.runTransition("cancel", () -> {
+            Booking booking = bookingService.getAuthorizedBooking(bookingId);
+            PaymentStatus status = booking.getPaymentStatus();
+            if (status != PaymentStatus.PENDING && status != PaymentStatus.COMPLETED) {
+                throw new BadRequestException("Only pending or paid bookings can be cancelled.");
+            }
+            requireUpcoming(booking.getShowDate());
+
+            boolean paid = status == PaymentStatus.COMPLETED;
+            Ticket.TicketStatus seatStatus = paid ? Ticket.TicketStatus.BOOKED : Ticket.TicketStatus.HELD;
+            List<PricedSeat> seats = booking.getTickets().stream()
+                    .filter(ticket -> ticket.getStatus() == seatStatus)
+                    .map(ticket -> new PricedSeat(ticket.getSection().getId(), ticket.getRowNumber(),
+                            ticket.getColNumber(), ticket.getPrice()))
+                    .toList();
+            Event event = booking.getEvent();
+            LocalDateTime showDate = booking.getShowDate();
+
+            PaymentStatus target = paid ? PaymentStatus.REFUNDED : PaymentStatus.FAILED;
+            if (!bookingService.transitionPaymentStatus(bookingId, "cancel", status, target)) {
+                // Confirmed or expired meanwhile; start over with its new state
+                throw new OptimisticLockingFailureException("Booking " + bookingId + " changed during cancellation.");
+            }
+            ticketRepository.updateStatusForBookings(List.of(bookingId), seatStatus, Ticket.TicketStatus.CANCELLED);
+            settle(paid ? List.of(bookingId) : List.of(), paid ? List.of() : List.of(bookingId),
+                    cancellationMessage(event, showDate));
+            publishReleased(event.getId(), showDate, seatStatus, seats);
+        });
+        return bookingService.getBookingById(bookingId);
+    }
+
+    /**
+     * Cancels every live booking of one show, refunds the paid ones and blocks
+     * the show from being booked again. The show lock is taken exclusively
+     * first: bookings and confirmations being written for the show commit
+     * before the cancellation looks for them, and later ones wait for it and
+     * then find the show cancelled.
+     */
+    public BookingDto.ShowCancellationResponse cancelShow(Long eventId, BookingDto.ShowCancellationRequest request) {
+        return showCancellationLatency.record(() -> transactionTemplate.execute(status -> {
+            Event event = eventRepository.findById(java.util.Objects.requireNonNull(eventId))
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+            LocalDateTime showDate = request.getShowDate();
+            if (showDate == null) {
+                throw new BadRequestException("Show date is required.");
+            }
+            requireUpcoming(showDate);
+            bookingService.lockShowForCancellation(eventId, showDate);
+            if (showCancellationRepository.existsByEvent_IdAndShowDate(eventId, showDate)) {
+                throw new ConflictException("This show has already been cancelled.");
+            }
+            showCancellationRepository.save(ShowCancellation.builder()
+                    .event(event)
+                    .showDate(showDate)
+                    .reason(request.getReason())
+                    .cancelledAt(LocalDateTime.now())
+                    .build());
+
+            // Row locks make concurrent confirmations wait and then see the booking cancelled
+            List<Long> paid = bookingRepository.lockIdsForShow(eventId, showDate, PaymentStatus.COMPLETED.name());
+            List<Long> pending = bookingRepository.lockIdsForShow(eventId, showDate, PaymentStatus.PENDING.name());
+            List<PricedSeat> held = ticketRepository.findPricedSeats(eventId, showDate,
+                    EnumSet.of(Ticket.TicketStatus.HELD));
+            List<PricedSeat> booked = ticketRepository.findPricedSeats(eventId, showDate,
+                    EnumSet.of(Ticket.TicketStatus.BOOKED));
+
+            int released = ticketRepository.updateStatusForShow(eventId, showDate,
+                    SeatInventoryService.OCCUPYING_STATUSES, Ticket.TicketStatus.CANCELLED);
+            if (!paid.isEmpty()) {
+                bookingRepository.updatePaymentStatus(paid, PaymentStatus.COMPLETED, PaymentStatus.REFUNDED);
+            }
+            if (!pending.isEmpty()) {
+                bookingRepository.updatePaymentStatus(pending, PaymentStatus.PENDING, PaymentStatus.FAILED);
+            }
+            settle(paid, pending, cancellationMessage(event, showDate));
+            publishReleased(eventId, showDate, Ticket.TicketStatus.HELD, held);
+            publishReleased(eventId, showDate, Ticket.TicketStatus.BOOKED, booked);
+
+            log.info("Cancelled show of event {} at {}: {} paid and {} pending bookings, {} seats", eventId, showDate,
+                    paid.size(), pending.size(), released);
+            return BookingDto.ShowCancellationResponse.builder()
+                    .eventId(eventId)
+                    .showDate(showDate)
+                    .cancelledBookings(paid.size() + pending.size())
+                    .refundedBookings(paid.size())
+                    .releasedSeats(released)
+                    .build();
+        }));
+    }
+
+    /**
+     * Issues the gateway refund of a cancelled booking. Called by the outbox
+     * dispatcher; Stripe sees the same idempotency key on every attempt, so a
+     * retried message cannot refund twice. Payments taken outside Stripe are
+     * only marked refunded.
+     */
+    public void refund(Long bookingId) {
+        Payment payment = paymentRepository.findByBookingId(bookingId).orElse(null);
+        if (payment == null || payment.getTransactionReference() == null) {
+            log.info("Booking {} has no gateway payment to refund", bookingId);
+            return;
+        }
+        try {
+            stripeService.createRefund(payment.getTransactionReference(), payment.getAmount(),
+                    "refund-booking-" + bookingId);
+        } catch (StripeException e) {
+            throw new IllegalStateException("Stripe refund failed for booking " + bookingId + ": " + e.getMessage(), e);
+        }
+        refundsIssued.increment();
+    }
+
+    /**
+     * Emails the owner of a cancelled booking. Called by the outbox dispatcher.
+     */
+    @Transactional
+    public void sendCancellationNotice(Long bookingId) {
+        Booking booking = bookingRepository.findById(java.util.Objects.requireNonNull(bookingId))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + bookingId));
+        User user = booking.getUser();
+        Event event = booking.getEvent();
+        String reason = showCancellationRepository.findByEvent_IdAndShowDate(event.getId(), booking.getShowDate())
+                .map(ShowCancellation::getReason)
+                .map(text -> "Reason: " + text + "\n")
+                .orElse("");
+        String refund = booking.getPaymentStatus() == PaymentStatus.REFUNDED
+                ? "A refund of $" + booking.getTotalAmount() + " will be returned to your original payment method.\n"
+                : "";
+        emailService.sendEmail(
+                user.getEmail(),
+                "Booking Cancelled - " + event.getTitle(),
+                "Hi " + user.getName() + ",\n\n"
+                        + "Your booking for " + event.getTitle() + " on " + booking.getShowDate()
+                        + " has been cancelled.\n\n"
+                        + "Booking ID: " + booking.getId() + "\n"
+                        + reason
+                        + refund
+                        + "\nThe Event Mate Team");
+    }
+
+    /**
+     * Marks the payments of refunded bookings, releases the holds of pending
+     * ones and queues refunds, emails and notifications for all of them.
+     */
+    private void settle(List<Long> refunded, List<Long> released, String message) {
+        List<Long> cancelled = new ArrayList<>(refunded);
+        cancelled.addAll(released);
+        if (cancelled.isEmpty()) {
+            return;
+        }
+        if (!refunded.isEmpty()) {
+            paymentRepository.updateStatusForBookings(refunded, PaymentStatus.COMPLETED, PaymentStatus.REFUNDED);
+            outboxService.enqueueForBookings(OutboxMessage.Type.REFUND, refunded);
+        }
+        seatHoldService.release(released);
+        outboxService.enqueueForBookings(OutboxMessage.Type.BOOKING_CANCELLATION, cancelled);
+        notificationRepository.insertForBookings(cancelled, message, LocalDateTime.now());
+        bookingsCancelled.increment(cancelled.size());
+    }
+
+    private void publishReleased(Long eventId, LocalDateTime showDate, Ticket.TicketStatus previous,
+            List<PricedSeat> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        SeatsChangedEvent.SeatState state = previous == Ticket.TicketStatus.HELD
+                ? SeatsChangedEvent.SeatState.HELD
+                : SeatsChangedEvent.SeatState.BOOKED;
+        eventPublisher.publishEvent(new SeatsChangedEvent(eventId, showDate, state, SeatsChangedEvent.SeatState.FREE,
+                seats.stream().map(PricedSeat::coordinate).toList(), seats.stream().map(PricedSeat::price).toList()));
+    }
+
+    private void requireUpcoming(LocalDateTime showDate) {
+        if (!showDate.isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("Bookings for past shows cannot be cancelled.");
+        }
+    }
+
+    private String cancellationMessage(Event event, LocalDateTime showDate) {
+        String message = "Your booking for " + event.getTitle() + " on " + showDate + " was cancelled.";
+        return message.length() > 255 ? message.substring(0, 252) + "..." : message;
+    }
+}
@@ -0,0 +1,239 @@
+package com.hemanthjangam.event_mate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public catalogue: pages and counts of the
+ * grouped event list and the category lists, and single events, stored as
+ * fully built DTOs. Concurrent
+ * misses on one key share a single load. Entries that are read after the
+ * refresh window are reloaded in the background while the old value keeps
+ * being served, and entries past the expiry window are reloaded before
+ * answering. A catalogue change drops the changed event and the lists on this
+ * node at once; other nodes pick it up within the refresh window. Keys carry
+ * client cursors and categories, so the number of entries is capped and
+ * lookups of new keys beyond the cap are loaded without being cached.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogueCacheService {
+
+    private static final String LIST_PREFIX = "events:";
+    private static final String EVENT_PREFIX = "event:";
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService refreshers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.catalogue.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.catalogue.cache.refresh-after:PT1M}")
+    private Duration refreshAfter;
+
+    @Value("${app.catalogue.cache.expire-after:PT10M}")
+    private Duration expireAfter;
+
+    @Value("${app.catalogue.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter coalesced;
+    private Counter uncached;
+    private Counter refreshes;
+    private Counter refreshFailures;
+    private Counter invalidations;
+    private Timer loadTime;
+
+    /**
+     * Registers the cache meters. The hit ratio is hits over all lookups;
+     * coalesced lookups waited for a load another request had started, and
+     * uncached ones found the cache full.
+     */
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("catalogue.cache.lookups").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("catalogue.cache.lookups").tag("result", "miss").register(meterRegistry);
+        coalesced = Counter.builder("catalogue.cache.lookups").tag("result", "coalesced").register(meterRegistry);
+        uncached = Counter.builder("catalogue.cache.lookups").tag("result", "uncached").register(meterRegistry);
+        refreshes = Counter.builder("catalogue.cache.refreshes").register(meterRegistry);
+        refreshFailures = Counter.builder("catalogue.cache.refresh.failures").register(meterRegistry);
+        invalidations = Counter.builder("catalogue.cache.invalidations").register(meterRegistry);
+        loadTime = Timer.builder("catalogue.cache.load").register(meterRegistry);
+        meterRegistry.gauge("catalogue.cache.entries", entries, Map::size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshers.shutdownNow();
+    }
+
+    /**
+     * Key of a listing page or count, for example {@code events:all:<cursor>:50}.
+     */
+    static String listKey(Object... parts) {
+        StringBuilder key = new StringBuilder(LIST_PREFIX);
+        for (int i = 0; i < parts.length; i++) {
+            key.append(i > 0 ? ":" : "").append(parts[i]);
+        }
+        return key.toString();
+    }
+
+    static String eventKey(Long eventId) {
+        return EVENT_PREFIX + eventId;
+    }
+
+    /**
+     * Returns the cached value for the key, loading it in a transaction on a
+     * miss. Failed loads are not cached, nor are new keys while the cache is
+     * full.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(String key, Supplier<T> loader) {
+        if (!enabled) {
+            return load(loader);
+        }
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.value.isDone()) {
+                coalesced.increment();
+                return (T) await(entry);
+            }
+            if (!entry.value.isCompletedExceptionally() && now - entry.loadedAt < expireAfter.toNanos()) {
+                hits.increment();
+                if (now - entry.loadedAt >= refreshAfter.toNanos()) {
+                    refreshAhead(key, entry);
+                }
+                return (T) entry.value.join();
+            }
+            entries.remove(key, entry);
+        }
+        if (entries.size() >= maxEntries) {
+            uncached.increment();
+            return load(loader);
+        }
+
+        Entry created = new Entry(loader);
+        Entry existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+        misses.increment();
+        try {
+            T value = load(loader);
+            created.loadedAt = System.nanoTime();
+            created.value.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.value.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the changed event and every cached listing page and count, since a
+     * change can move an event in or out of a list or change its group's
+     * representative.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChanged(CatalogueChangedEvent change) {
+        String eventKey = eventKey(change.eventId());
+        entries.keySet().removeIf(key -> {
+            boolean affected = key.equals(eventKey) || key.startsWith(LIST_PREFIX);
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    /**
+     * Removes entries loaded longer ago than the expiry window, which would be
+     * reloaded on their next read anyway.
+     */
+    @Scheduled(fixedDelayString = "${app.catalogue.cache.eviction-interval:PT1M}")
+    public void evictExpired() {
+        long cutoff = System.nanoTime() - expireAfter.toNanos();
+        entries.values().removeIf(entry -> entry.value.isDone() && entry.loadedAt - cutoff < 0);
+    }
+
+    /**
+     * Reloads an entry in the background, at most once at a time, and swaps
+     * the result in unless the entry was invalidated meanwhile.
+     */
+    private void refreshAhead(String key, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshers.execute(() -> {
+            try {
+                Entry refreshed = new Entry(entry.loader);
+                Object value = load(entry.loader);
+                refreshed.loadedAt = System.nanoTime();
+                refreshed.value.complete(value);
+                if (entries.replace(key, entry, refreshed)) {
+                    refreshes.increment();
+                }
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                log.warn("Could not refresh catalogue cache entry {}", key, e);
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return loadTime.record(() -> transactionTemplate.execute(status -> loader.get()));
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final Supplier<?> loader;
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long loadedAt;
+
+        private Entry(Supplier<?> loader) {
+            this.loader = loader;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.hemanthjangam.event_mate.service;
+
+/**
+ * Published when an event is created, updated or deleted so in-memory views of
+ * the catalogue can refresh the affected entry.
+ */
+public record CatalogueChangedEvent(Long eventId) {
+}
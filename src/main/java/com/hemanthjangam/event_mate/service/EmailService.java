@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,30 +17,34 @@ public class EmailService {
     @Value("${spring.mail.username}")
     private String fromEmail;
 
+    @Value("${app.mail.log-only:false}")
+    private boolean logOnly;
+
     /**
-     * Sends a plain-text email and falls back to structured logging if SMTP is not
-     * available.
+     * Sends a plain-text email. Failures are thrown so the outbox dispatcher
+     * retries the message; with {@code app.mail.log-only} set, for local
+     * development without SMTP, the email is printed instead of sent. Runs on
+     * the caller's thread; request code queues emails through
+     * {@link OutboxService} instead of calling this directly.
      */
-    @Async
     public void sendEmail(String to, String subject, String body) {
-        try {
-            log.info("Attempting to send email to: {}", to);
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send real email. Falling back to mock logger. Error: {}", e.getMessage());
+        if (logOnly) {
             System.out.println("========================================");
-            System.out.println("FALLBACK MOCK EMAIL (Real sending failed)");
+            System.out.println("MOCK EMAIL (app.mail.log-only)");
             System.out.println("To: " + to);
             System.out.println("Subject: " + subject);
             System.out.println("Body: " + body);
             System.out.println("========================================");
+            return;
         }
+        log.info("Attempting to send email to: {}", to);
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(body);
+
+        mailSender.send(message);
+        log.info("Email sent successfully to: {}", to);
     }
 }
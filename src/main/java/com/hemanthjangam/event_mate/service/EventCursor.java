@@ -0,0 +1,39 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in an event listing ordered by start date and id. Encoded for
+ * clients as an opaque URL-safe string; the first page starts before any
+ * event.
+ */
+record EventCursor(LocalDate startDate, Long id) {
+
+    static final EventCursor FIRST = new EventCursor(LocalDate.of(1, 1, 1), 0L);
+
+    static EventCursor after(Event event) {
+        return new EventCursor(event.getStartDate(), event.getId());
+    }
+
+    static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+            return new EventCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid page cursor.");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startDate + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
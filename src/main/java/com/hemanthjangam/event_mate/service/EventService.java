@@ -1,5 +1,6 @@
 package com.hemanthjangam.event_mate.service;
 
+import com.hemanthjangam.event_mate.dto.CursorPage;
 import com.hemanthjangam.event_mate.dto.EventDto;
 import com.hemanthjangam.event_mate.dto.EventSectionDto;
 import com.hemanthjangam.event_mate.exception.BadRequestException;
@@ -8,11 +9,20 @@ import com.hemanthjangam.event_mate.entity.EventSection;
 import com.hemanthjangam.event_mate.entity.User;
 import com.hemanthjangam.event_mate.repository.EventRepository;
 import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,42 +31,75 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @RequiredArgsConstructor
 public class EventService {
 
+    private static final int MAX_SEARCH_TERMS = 8;
+    // Shorter prefixes match so many words that the index scan costs more than it saves
+    private static final int MIN_PREFIX_LENGTH = 3;
+
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingService pricingService;
+    private final CatalogueCacheService catalogueCache;
+
+    @Value("${app.catalogue.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.search.default-limit:20}")
+    private int searchDefaultLimit;
 
     /**
-     * Returns one representative event per group for the public catalogue.
+     * Returns a page of the public catalogue, one representative event per
+     * group, ordered by start date.
      */
-    public List<EventDto> getAllEvents() {
-        return eventRepository.findUniqueEventsByGroupId().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<EventDto> getAllEvents(String cursor, Integer limit, boolean includeTotal) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        CursorPage<EventDto> page = catalogueCache.get(CatalogueCacheService.listKey("all", after.encode(), size),
+                () -> toPage(eventRepository.findUniqueEventsAfter(after.startDate(), after.id(), Limit.of(size + 1)),
+                        size));
+        return includeTotal
+                ? page.withTotalCount(catalogueCache.get(CatalogueCacheService.listKey("all", "count"),
+                        eventRepository::countUniqueEvents))
+                : page;
     }
 
     /**
-     * Returns the complete event list for admin management screens.
+     * Returns a page of the complete event list for admin management screens,
+     * with the pricing rules the public catalogue leaves out.
      */
-    public List<EventDto> getAllEventsAdmin() {
-        return eventRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional
+    public CursorPage<EventDto> getAllEventsAdmin(String cursor, Integer limit, boolean includeTotal) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        List<Event> events = eventRepository.findEventsAfter(after.startDate(), after.id(), Limit.of(size + 1));
+        CursorPage<EventDto> page = toPage(events, size);
+        Map<Long, String> pricingRules = new HashMap<>();
+        events.forEach(event -> pricingRules.put(event.getId(), event.getPricingRules()));
+        page.items().forEach(dto -> dto.setPricingRules(pricingRules.get(dto.getId())));
+        return includeTotal ? page.withTotalCount(eventRepository.count()) : page;
     }
 
     /**
      * Loads a single event by its database identifier.
      */
     public EventDto getEventById(Long id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
-        return mapToDto(event);
+        return catalogueCache.get(CatalogueCacheService.eventKey(id), () -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+            return mapToDto(event);
+        });
     }
 
     /**
      * Returns all events that belong to the same logical group ordered by date.
      */
-    public List<EventDto> getEventsByGroupId(String groupId) {
-        return eventRepository.findByGroupIdOrderByStartDateAsc(groupId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional
+    public CursorPage<EventDto> getEventsByGroupId(String groupId, String cursor, Integer limit,
+            boolean includeTotal) {
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        CursorPage<EventDto> page = toPage(eventRepository.findByGroupIdAfter(groupId, after.startDate(), after.id(),
+                Limit.of(size + 1)), size);
+        return includeTotal ? page.withTotalCount(eventRepository.countByGroupId(groupId)) : page;
     }
 
     /**
@@ -77,6 +120,7 @@ public class EventService {
         if (eventDto.getTitle() == null || eventDto.getTitle().trim().isEmpty()) {
             throw new BadRequestException("Event title is required.");
         }
+        pricingService.compile(eventDto.getPricingRules());
     }
 
     /**
@@ -99,7 +143,8 @@ public class EventService {
         }
 
         Event savedEvent = eventRepository.save(event);
-        return mapToDto(savedEvent);
+        eventPublisher.publishEvent(new CatalogueChangedEvent(savedEvent.getId()));
+        return mapToAdminDto(savedEvent);
     }
 
     /**
@@ -126,6 +171,12 @@ public class EventService {
         existingEvent.setImdbRating(eventDto.getImdbRating());
         existingEvent.setMovieMode(eventDto.getMovieMode());
         existingEvent.setCast(eventDto.getCast());
+        if (eventDto.getHighDemand() != null) {
+            existingEvent.setHighDemand(eventDto.getHighDemand());
+        }
+        if (eventDto.getPricingRules() != null) {
+            existingEvent.setPricingRules(eventDto.getPricingRules().isBlank() ? null : eventDto.getPricingRules());
+        }
         if (eventDto.getGroupId() != null) {
             existingEvent.setGroupId(eventDto.getGroupId());
         }
@@ -146,7 +197,8 @@ public class EventService {
         }
 
         Event updatedEvent = eventRepository.save(existingEvent);
-        return mapToDto(updatedEvent);
+        eventPublisher.publishEvent(new CatalogueChangedEvent(updatedEvent.getId()));
+        return mapToAdminDto(updatedEvent);
     }
 
     /**
@@ -156,21 +208,112 @@ public class EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
         eventRepository.delete(event);
+        eventPublisher.publishEvent(new CatalogueChangedEvent(id));
     }
 
     /**
      * Searches the public catalogue by category while preserving grouped results.
      */
-    public List<EventDto> searchEvents(String category) {
-        return eventRepository.findUniqueEventsByCategory(category).stream()
+    public CursorPage<EventDto> searchEvents(String category, String cursor, Integer limit, boolean includeTotal) {
+        if (category == null) {
+            throw new BadRequestException("Either a search text or a category is required.");
+        }
+        EventCursor after = EventCursor.decode(cursor);
+        int size = pageSize(limit);
+        CursorPage<EventDto> page = catalogueCache.get(
+                CatalogueCacheService.listKey("category", category, after.encode(), size),
+                () -> toPage(eventRepository.findUniqueEventsByCategoryAfter(category, after.startDate(), after.id(),
+                        Limit.of(size + 1)), size));
+        return includeTotal
+                ? page.withTotalCount(catalogueCache.get(CatalogueCacheService.listKey("category", category, "count"),
+                        () -> eventRepository.countUniqueEventsByCategory(category)))
+                : page;
+    }
+
+    /**
+     * Full-text search over title, cast, venue and description, optionally
+     * within a category. Every word of the query must match the start of a
+     * word, so results narrow while the user types. Returns the best match of
+     * each group, ranked.
+     */
+    @Transactional
+    public List<EventDto> searchEventsByText(String query, String category, Integer limit) {
+        String tsQuery = toPrefixTsQuery(query);
+        int size = limit != null ? pageSize(limit) : Math.min(searchDefaultLimit, maxPageSize);
+        return mapAllToDto(eventRepository.searchUniqueEvents(tsQuery, category, size));
+    }
+
+    /**
+     * Turns free text into a tsquery that requires every word as a prefix,
+     * for example {@code nolan imax} into {@code nolan:* & imax:*}; words
+     * shorter than three characters must match whole. Anything but letters
+     * and digits separates words, so user input can never form tsquery
+     * operators.
+     */
+    static String toPrefixTsQuery(String query) {
+        List<String> terms = query == null ? List.of() : Arrays.stream(
+                query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term.length() >= MIN_PREFIX_LENGTH ? term + ":*" : term)
+                .toList();
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search text must contain at least one letter or digit.");
+        }
+        return String.join(" & ", terms);
+    }
+
+    /**
+     * Resolves the requested page size. Requests without a limit get the
+     * maximum page size, which bounds the old unpaged listings.
+     */
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return maxPageSize;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Page limit must be at least 1.");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Builds a page from up to one row more than the page size; the extra row
+     * only signals that another page follows.
+     */
+    private CursorPage<EventDto> toPage(List<Event> events, int size) {
+        boolean more = events.size() > size;
+        List<Event> items = more ? events.subList(0, size) : events;
+        String nextCursor = more ? EventCursor.after(items.get(size - 1)).encode() : null;
+        return new CursorPage<>(mapAllToDto(items), nextCursor, null);
+    }
+
+    /**
+     * Maps a list of events after initialising their show times, media, cast
+     * and sections with one query per collection, so the number of queries
+     * does not grow with the number of events. Must run inside a transaction.
+     */
+    List<EventDto> mapAllToDto(List<Event> events) {
+        if (!events.isEmpty()) {
+            List<Long> ids = events.stream().map(Event::getId).toList();
+            eventRepository.fetchShowTimes(ids);
+            eventRepository.fetchMediaUrls(ids);
+            eventRepository.fetchCast(ids);
+            eventRepository.fetchSections(ids);
+        }
+        return events.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Maps the event entity into the API DTO consumed by the frontend.
+     * Maps the event entity into the API DTO consumed by the frontend. Entity
+     * collections are copied so the DTO stays usable, and safe to cache,
+     * after the session closes. Pricing rules are left out: the DTO is public
+     * and cached, and the occupancy thresholds would let buyers time their
+     * purchases around price steps.
      */
-    private EventDto mapToDto(Event event) {
+    EventDto mapToDto(Event event) {
         java.time.LocalDateTime legacyDate = null;
         if (event.getStartDate() != null && event.getShowTimes() != null && !event.getShowTimes().isEmpty()) {
             legacyDate = event.getStartDate().atTime(event.getShowTimes().get(0));
@@ -183,13 +326,13 @@ public class EventService {
                 .venue(event.getVenue())
                 .startDate(event.getStartDate())
                 .endDate(event.getEndDate())
-                .showTimes(event.getShowTimes())
+                .showTimes(copy(event.getShowTimes()))
                 .date(legacyDate)
                 .price(event.getPrice())
                 .imageUrl(event.getImageUrl())
                 .category(event.getCategory())
                 .trailerUrl(event.getTrailerUrl())
-                .mediaUrls(event.getMediaUrls())
+                .mediaUrls(copy(event.getMediaUrls()))
                 .duration(event.getDuration())
                 .censorRating(event.getCensorRating())
                 .sections(event.getSections() != null
@@ -199,10 +342,25 @@ public class EventService {
                         : null)
                 .imdbRating(event.getImdbRating())
                 .movieMode(event.getMovieMode())
-                .cast(event.getCast())
+                .highDemand(event.isHighDemand())
+                .cast(copy(event.getCast()))
                 .build();
     }
 
+    /**
+     * Maps an event for the admin create and edit responses, including its
+     * pricing rules.
+     */
+    private EventDto mapToAdminDto(Event event) {
+        EventDto dto = mapToDto(event);
+        dto.setPricingRules(event.getPricingRules());
+        return dto;
+    }
+
+    private <T> List<T> copy(List<T> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+
     /**
      * Maps an event section entity into its API DTO representation.
      */
@@ -237,6 +395,8 @@ public class EventService {
                 .censorRating(dto.getCensorRating())
                 .imdbRating(dto.getImdbRating())
                 .movieMode(dto.getMovieMode())
+                .highDemand(Boolean.TRUE.equals(dto.getHighDemand()))
+                .pricingRules(dto.getPricingRules() == null || dto.getPricingRules().isBlank() ? null : dto.getPricingRules())
                 .cast(dto.getCast())
                 .build();
 
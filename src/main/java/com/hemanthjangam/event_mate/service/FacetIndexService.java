@@ -0,0 +1,607 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.EventDto;
+import com.hemanthjangam.event_mate.dto.FacetDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory facet index of upcoming events for the home page filters. Each
+ * group of shows, or event without a group, is one document, and every facet
+ * value and show day has a bitset of the documents that have it. Filtering
+ * intersects bitsets and a facet count is the cardinality of one more
+ * intersection, so a query costs the same whatever filters it combines.
+ * Catalogue changes reload only the groups they touch; queries read an
+ * immutable snapshot swapped in after each change. The whole index is rebuilt
+ * at startup and every night, when past days drop out.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FacetIndexService {
+
+    private static final String CATEGORY = "category";
+    private static final String VENUE = "venue";
+    private static final String MOVIE_MODE = "movieMode";
+    private static final String PRICE_BAND = "priceBand";
+    private static final String DATE = "date";
+    private static final List<String> VALUE_FACETS = List.of(CATEGORY, VENUE, MOVIE_MODE, PRICE_BAND);
+    private static final String GROUP_PREFIX = "group:";
+    private static final String EVENT_PREFIX = "event:";
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.facets.price-bands:500,1000,2000}")
+    private List<BigDecimal> priceBands;
+
+    @Value("${app.facets.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${app.facets.max-values:50}")
+    private int maxValues;
+
+    @Value("${app.facets.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${app.catalogue.max-page-size:500}")
+    private int maxPageSize;
+
+    // Serialises whole rebuilds, so a burst of queries on a stale index loads it once
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Guards the index being maintained; held only to apply loaded documents, never across a database read.
+    // A lock rather than a monitor so a waiting virtual thread does not pin its carrier
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private final AtomicLong loads = new AtomicLong();
+    private long lastAppliedLoad;
+
+    // Index being maintained, guarded by indexLock; queries only see published snapshots
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<String, Integer> slotsByGroup = new HashMap<>();
+    private final Map<Long, String> groupsByEvent = new HashMap<>();
+    private final Map<String, Map<String, BitSet>> valueBits = new HashMap<>();
+    private final NavigableMap<LocalDate, BitSet> dayBits = new TreeMap<>();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale;
+
+    private Counter rebuilds;
+    private Counter updates;
+    private Counter updateFailures;
+    private Timer queryTime;
+
+    /**
+     * Registers the index meters.
+     */
+    @PostConstruct
+    public void init() {
+        rebuilds = Counter.builder("catalogue.facets.rebuilds").register(meterRegistry);
+        updates = Counter.builder("catalogue.facets.updates").register(meterRegistry);
+        updateFailures = Counter.builder("catalogue.facets.update.failures").register(meterRegistry);
+        queryTime = Timer.builder("catalogue.facets.query").register(meterRegistry);
+        meterRegistry.gauge("catalogue.facets.documents", slotsByGroup, Map::size);
+    }
+
+    /**
+     * Rebuilds the whole index from the upcoming events. The events are loaded
+     * and mapped without holding the index lock, which is only taken to swap
+     * the new documents in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.facets.rebuild-cron:0 0 0 * * *}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            // Cleared first, so an update failing while this loads marks the index stale again
+            stale = false;
+            long load = loads.incrementAndGet();
+            LocalDate today = LocalDate.now();
+            List<Document> loaded = transactionTemplate.execute(status -> toDocuments(
+                    eventRepository.findByEndDateGreaterThanEqual(today), today));
+            indexLock.lock();
+            try {
+                documents.clear();
+                freeSlots.clear();
+                slotsByGroup.clear();
+                groupsByEvent.clear();
+                valueBits.clear();
+                dayBits.clear();
+                loaded.forEach(this::add);
+                publish(today);
+                applied(load);
+            } finally {
+                indexLock.unlock();
+            }
+            rebuilds.increment();
+            log.info("Built facet index of {} upcoming events and groups", loaded.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the groups the changed event belonged to and belongs to now. A
+     * failed update leaves the index to be rebuilt on the next query.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChanged(CatalogueChangedEvent change) {
+        try {
+            update(change.eventId());
+        } catch (RuntimeException e) {
+            stale = true;
+            updateFailures.increment();
+            log.warn("Could not update facet index for event {}", change.eventId(), e);
+        }
+    }
+
+    /**
+     * Filters the upcoming events and counts every facet value. Each facet is
+     * counted under the other facets' filters only, so selecting a value does
+     * not hide its alternatives.
+     */
+    public FacetDto.Result search(FacetDto.Query query) {
+        Snapshot index = current();
+        DateRange dateRange = dateRange(query, index.today());
+        int limit = limit(query.getLimit());
+        return queryTime.record(() -> {
+            Map<String, Set<String>> selected = new LinkedHashMap<>();
+            selected.put(CATEGORY, selection(query.getCategories()));
+            selected.put(VENUE, selection(query.getVenues()));
+            selected.put(MOVIE_MODE, selection(query.getMovieModes()));
+            selected.put(PRICE_BAND, selection(query.getPriceBands()));
+
+            // One bitset per active filter: the union of its selected values
+            Map<String, BitSet> filters = new LinkedHashMap<>();
+            selected.forEach((facet, values) -> {
+                if (!values.isEmpty()) {
+                    BitSet union = new BitSet();
+                    Map<String, BitSet> bits = index.values().getOrDefault(facet, Map.of());
+                    values.forEach(value -> {
+                        BitSet matching = bits.get(value);
+                        if (matching != null) {
+                            union.or(matching);
+                        }
+                    });
+                    filters.put(facet, union);
+                }
+            });
+            if (dateRange != null) {
+                filters.put(DATE, index.days(dateRange));
+            }
+
+            BitSet matches = index.matching(filters, null);
+            Map<String, List<FacetDto.FacetValue>> facets = new LinkedHashMap<>();
+            for (String facet : VALUE_FACETS) {
+                facets.put(facet, countValues(index, filters, facet, selected.get(facet)));
+            }
+            facets.put(DATE, countDates(index, filters, query.getDate()));
+
+            List<EventDto> items = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            for (int slot : index.order()) {
+                if (items.size() == limit) {
+                    break;
+                }
+                if (matches.get(slot)) {
+                    items.add(index.events()[slot]);
+                }
+            }
+            return FacetDto.Result.builder()
+                    .items(items)
+                    .total(matches.cardinality())
+                    .facets(facets)
+                    .build();
+        });
+    }
+
+    private Snapshot current() {
+        Snapshot index = snapshot;
+        if (index == null || stale) {
+            rebuildLock.lock();
+            try {
+                // Queries that waited for another rebuild use its result
+                if (snapshot == null || stale) {
+                    rebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+            index = snapshot;
+        }
+        return index;
+    }
+
+    /**
+     * Reloads the groups of one event outside the index lock and then swaps
+     * them in under it.
+     */
+    private void update(Long eventId) {
+        Snapshot index = snapshot;
+        if (index == null) {
+            // Not built yet; the startup build reads the change
+            return;
+        }
+        long load = loads.incrementAndGet();
+        Set<String> groups = new LinkedHashSet<>();
+        indexLock.lock();
+        try {
+            String previous = groupsByEvent.get(eventId);
+            if (previous != null) {
+                groups.add(previous);
+            }
+        } finally {
+            indexLock.unlock();
+        }
+        List<Document> reloaded = transactionTemplate.execute(status -> {
+            eventRepository.findById(eventId).ifPresent(event -> groups.add(groupKey(event)));
+            Map<Long, Event> events = new LinkedHashMap<>();
+            for (String group : groups) {
+                List<Event> members = group.startsWith(GROUP_PREFIX)
+                        ? eventRepository.findByGroupIdOrderByStartDateAsc(group.substring(GROUP_PREFIX.length()))
+                        : eventRepository.findById(Long.valueOf(group.substring(EVENT_PREFIX.length())))
+                                .map(List::of).orElse(List.of());
+                members.forEach(member -> events.put(member.getId(), member));
+            }
+            return toDocuments(events.values().stream()
+                    .filter(event -> !event.getEndDate().isBefore(index.today()))
+                    .toList(), index.today());
+        });
+        indexLock.lock();
+        try {
+            groups.forEach(this::remove);
+            reloaded.forEach(this::add);
+            publish(index.today());
+            applied(load);
+        } finally {
+            indexLock.unlock();
+        }
+        updates.increment();
+    }
+
+    /**
+     * Records that a load was applied. Loads run concurrently, so one that
+     * started earlier may be applied after a later one and overwrite newer
+     * documents; the index is then marked stale and rebuilt on the next
+     * query. Must hold the index lock.
+     */
+    private void applied(long load) {
+        if (load < lastAppliedLoad) {
+            stale = true;
+        } else {
+            lastAppliedLoad = load;
+        }
+    }
+
+    /**
+     * Turns upcoming events into one document per group, represented by its
+     * earliest event. Must run inside a transaction.
+     */
+    private List<Document> toDocuments(List<Event> events, LocalDate today) {
+        Map<String, List<Event>> groups = new LinkedHashMap<>();
+        for (Event event : events) {
+            groups.computeIfAbsent(groupKey(event), key -> new ArrayList<>()).add(event);
+        }
+        Comparator<Event> byStart = Comparator.comparing(Event::getStartDate).thenComparing(Event::getId);
+        List<Event> representatives = groups.values().stream()
+                .map(members -> members.stream().min(byStart).orElseThrow())
+                .toList();
+        List<EventDto> dtos = eventService.mapAllToDto(representatives);
+
+        LocalDate horizon = today.plusDays(horizonDays);
+        List<Document> loaded = new ArrayList<>(groups.size());
+        int index = 0;
+        for (Map.Entry<String, List<Event>> group : groups.entrySet()) {
+            Map<String, Set<String>> values = new HashMap<>();
+            Set<LocalDate> days = new LinkedHashSet<>();
+            List<Long> eventIds = new ArrayList<>();
+            for (Event event : group.getValue()) {
+                eventIds.add(event.getId());
+                addValue(values, CATEGORY, event.getCategory());
+                addValue(values, VENUE, event.getVenue());
+                addValue(values, MOVIE_MODE, event.getMovieMode());
+                addValue(values, PRICE_BAND, priceBand(event.getPrice()));
+                LocalDate end = event.getEndDate().isAfter(horizon) ? horizon : event.getEndDate();
+                for (LocalDate day = event.getStartDate().isBefore(today) ? today : event.getStartDate();
+                        !day.isAfter(end); day = day.plusDays(1)) {
+                    days.add(day);
+                }
+            }
+            Event representative = representatives.get(index);
+            loaded.add(new Document(group.getKey(), dtos.get(index++), representative.getStartDate(),
+                    representative.getId(), eventIds, values, days));
+        }
+        return loaded;
+    }
+
+    private void add(Document document) {
+        Integer free = freeSlots.poll();
+        int slot = free != null ? free : documents.size();
+        if (free != null) {
+            documents.set(slot, document);
+        } else {
+            documents.add(document);
+        }
+        slotsByGroup.put(document.groupKey(), slot);
+        document.eventIds().forEach(eventId -> groupsByEvent.put(eventId, document.groupKey()));
+        document.values().forEach((facet, values) -> values.forEach(value -> valueBits
+                .computeIfAbsent(facet, key -> new HashMap<>())
+                .computeIfAbsent(value, key -> new BitSet())
+                .set(slot)));
+        document.days().forEach(day -> dayBits.computeIfAbsent(day, key -> new BitSet()).set(slot));
+    }
+
+    private void remove(String groupKey) {
+        Integer slot = slotsByGroup.remove(groupKey);
+        if (slot == null) {
+            return;
+        }
+        Document document = documents.set(slot, null);
+        freeSlots.push(slot);
+        document.eventIds().forEach(eventId -> groupsByEvent.remove(eventId, groupKey));
+        document.values().forEach((facet, values) -> {
+            Map<String, BitSet> bits = valueBits.get(facet);
+            values.forEach(value -> clear(bits, value, slot));
+        });
+        document.days().forEach(day -> clear(dayBits, day, slot));
+    }
+
+    private static <K> void clear(Map<K, BitSet> bits, K key, int slot) {
+        BitSet keyBits = bits.get(key);
+        keyBits.clear(slot);
+        if (keyBits.isEmpty()) {
+            bits.remove(key);
+        }
+    }
+
+    /**
+     * Copies the index into an immutable snapshot for queries, with the
+     * documents ordered by start date and the date presets precomputed.
+     */
+    private void publish(LocalDate today) {
+        int size = documents.size();
+        EventDto[] events = new EventDto[size];
+        BitSet live = new BitSet(size);
+        for (int slot = 0; slot < size; slot++) {
+            Document document = documents.get(slot);
+            if (document != null) {
+                events[slot] = document.event();
+                live.set(slot);
+            }
+        }
+        int[] order = IntStream.range(0, size)
+                .filter(live::get)
+                .boxed()
+                .sorted(Comparator.<Integer, LocalDate>comparing(slot -> documents.get(slot).startDate())
+                        .thenComparing(slot -> documents.get(slot).eventId()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        Map<String, Map<String, BitSet>> values = new HashMap<>();
+        valueBits.forEach((facet, bits) -> {
+            Map<String, BitSet> copies = new HashMap<>();
+            bits.forEach((value, matching) -> copies.put(value, (BitSet) matching.clone()));
+            values.put(facet, copies);
+        });
+        NavigableMap<LocalDate, BitSet> days = new TreeMap<>();
+        dayBits.forEach((day, bits) -> days.put(day, (BitSet) bits.clone()));
+
+        Snapshot published = new Snapshot(today, events, order, live, values, days, new LinkedHashMap<>());
+        for (DatePreset preset : DatePreset.values()) {
+            published.presets().put(preset, published.days(preset.range(today)));
+        }
+        snapshot = published;
+    }
+
+    private List<FacetDto.FacetValue> countValues(Snapshot index, Map<String, BitSet> filters, String facet,
+            Set<String> selected) {
+        BitSet base = index.matching(filters, facet);
+        List<FacetDto.FacetValue> counts = new ArrayList<>();
+        index.values().getOrDefault(facet, Map.of()).forEach((value, bits) -> {
+            long count = intersection(base, bits);
+            if (count > 0 || selected.contains(value)) {
+                counts.add(FacetDto.FacetValue.builder()
+                        .value(value)
+                        .count(count)
+                        .selected(selected.contains(value))
+                        .build());
+            }
+        });
+        for (String value : selected) {
+            if (!index.values().getOrDefault(facet, Map.of()).containsKey(value)) {
+                counts.add(FacetDto.FacetValue.builder().value(value).count(0).selected(true).build());
+            }
+        }
+        counts.sort(Comparator.comparingLong(FacetDto.FacetValue::getCount).reversed()
+                .thenComparing(FacetDto.FacetValue::getValue));
+        List<FacetDto.FacetValue> shown = new ArrayList<>(counts.subList(0, Math.min(maxValues, counts.size())));
+        // Selected values stay listed even when they fall outside the top values
+        counts.subList(shown.size(), counts.size()).stream()
+                .filter(FacetDto.FacetValue::isSelected)
+                .forEach(shown::add);
+        return shown;
+    }
+
+    private List<FacetDto.FacetValue> countDates(Snapshot index, Map<String, BitSet> filters, String selected) {
+        BitSet base = index.matching(filters, DATE);
+        List<FacetDto.FacetValue> counts = new ArrayList<>();
+        for (DatePreset preset : DatePreset.values()) {
+            DateRange range = preset.range(index.today());
+            counts.add(FacetDto.FacetValue.builder()
+                    .value(preset.label)
+                    .count(intersection(base, index.presets().get(preset)))
+                    .selected(preset.label.equals(selected))
+                    .from(range.from())
+                    .to(range.to())
+                    .build());
+        }
+        return counts;
+    }
+
+    private DateRange dateRange(FacetDto.Query query, LocalDate today) {
+        if (query.getDate() != null) {
+            if (query.getFrom() != null || query.getTo() != null) {
+                throw new BadRequestException("Use either a date preset or a from/to range, not both.");
+            }
+            for (DatePreset preset : DatePreset.values()) {
+                if (preset.label.equals(query.getDate())) {
+                    return preset.range(today);
+                }
+            }
+            throw new BadRequestException("Unknown date filter: " + query.getDate());
+        }
+        if (query.getFrom() == null && query.getTo() == null) {
+            return null;
+        }
+        LocalDate from = query.getFrom() != null ? query.getFrom() : today;
+        LocalDate to = query.getTo() != null ? query.getTo() : today.plusDays(horizonDays);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("The from date must not be after the to date.");
+        }
+        return new DateRange(from, to);
+    }
+
+    private int limit(Integer limit) {
+        if (limit == null) {
+            return Math.min(defaultLimit, maxPageSize);
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Page limit must be at least 1.");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    /**
+     * Band label of a price, for example {@code 500-1000} between the
+     * configured bounds 500 and 1000, or {@code 2000+} above the last.
+     */
+    private String priceBand(BigDecimal price) {
+        if (price == null) {
+            return null;
+        }
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal bound : priceBands) {
+            if (price.compareTo(bound) < 0) {
+                return lower.toPlainString() + "-" + bound.toPlainString();
+            }
+            lower = bound;
+        }
+        return lower.toPlainString() + "+";
+    }
+
+    private static void addValue(Map<String, Set<String>> values, String facet, String value) {
+        if (value != null && !value.isBlank()) {
+            values.computeIfAbsent(facet, key -> new LinkedHashSet<>()).add(value);
+        }
+    }
+
+    private static Set<String> selection(List<String> values) {
+        return values == null ? Set.of() : new LinkedHashSet<>(values);
+    }
+
+    private static long intersection(BitSet base, BitSet bits) {
+        BitSet both = (BitSet) base.clone();
+        both.and(bits);
+        return both.cardinality();
+    }
+
+    private static String groupKey(Event event) {
+        return event.getGroupId() != null ? GROUP_PREFIX + event.getGroupId() : EVENT_PREFIX + event.getId();
+    }
+
+    private record Document(String groupKey, EventDto event, LocalDate startDate, Long eventId, List<Long> eventIds,
+            Map<String, Set<String>> values, Set<LocalDate> days) {
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+    }
+
+    private record Snapshot(LocalDate today, EventDto[] events, int[] order, BitSet live,
+            Map<String, Map<String, BitSet>> values, NavigableMap<LocalDate, BitSet> days,
+            Map<DatePreset, BitSet> presets) {
+
+        /**
+         * Documents with a show on any day of the range.
+         */
+        private BitSet days(DateRange range) {
+            BitSet union = new BitSet();
+            days.subMap(range.from(), true, range.to(), true).values().forEach(union::or);
+            return union;
+        }
+
+        /**
+         * Documents passing every filter except the skipped facet's.
+         */
+        private BitSet matching(Map<String, BitSet> filters, String skipped) {
+            BitSet matches = (BitSet) live.clone();
+            filters.forEach((facet, bits) -> {
+                if (!facet.equals(skipped)) {
+                    matches.and(bits);
+                }
+            });
+            return matches;
+        }
+    }
+
+    private enum DatePreset {
+        TODAY("today"),
+        TOMORROW("tomorrow"),
+        WEEKEND("this-weekend"),
+        NEXT_7_DAYS("next-7-days"),
+        NEXT_30_DAYS("next-30-days");
+
+        private final String label;
+
+        DatePreset(String label) {
+            this.label = label;
+        }
+
+        private DateRange range(LocalDate today) {
+            return switch (this) {
+                case TODAY -> new DateRange(today, today);
+                case TOMORROW -> new DateRange(today.plusDays(1), today.plusDays(1));
+                case WEEKEND -> {
+                    LocalDate sunday = today.plusDays(DayOfWeek.SUNDAY.getValue() - today.getDayOfWeek().getValue());
+                    LocalDate saturday = sunday.minusDays(1);
+                    yield new DateRange(saturday.isBefore(today) ? today : saturday, sunday);
+                }
+                case NEXT_7_DAYS -> new DateRange(today, today.plusDays(6));
+                case NEXT_30_DAYS -> new DateRange(today, today.plusDays(29));
+            };
+        }
+    }
+}
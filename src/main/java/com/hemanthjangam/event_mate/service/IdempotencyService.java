@@ -0,0 +1,272 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.entity.IdempotencyKey;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.exception.ConflictException;
+import com.hemanthjangam.event_mate.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Honours the {@code Idempotency-Key} header for non-idempotent endpoints. The
+ * first successful response for a key is kept in a bounded in-memory LRU and in
+ * the {@code idempotency_keys} table; retries with the same key replay it
+ * instead of running the request again. Duplicates that arrive while the first
+ * request is still running on this node wait for its outcome, and duplicates
+ * racing on another node are told to retry.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_CLAIM_ATTEMPTS = 2;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.in-flight-timeout:PT30S}")
+    private Duration inFlightTimeout;
+
+    private Map<CacheKey, Entry> cache;
+    private Counter executed;
+    private Counter replayed;
+    private Counter conflicts;
+
+    /**
+     * Creates the LRU and registers the idempotency meters.
+     */
+    @PostConstruct
+    public void init() {
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        executed = Counter.builder("idempotency.requests").tag("result", "executed").register(meterRegistry);
+        replayed = Counter.builder("idempotency.requests").tag("result", "replayed").register(meterRegistry);
+        conflicts = Counter.builder("idempotency.requests").tag("result", "conflict").register(meterRegistry);
+    }
+
+    /**
+     * Runs the action once per key and caller. Requests without a key run as
+     * usual. Only successful responses are remembered, so a failed attempt can
+     * be retried with the same key.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, TypeReference<T> responseType,
+            Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+        CacheKey cacheKey = new CacheKey(scope, currentOwner(), key);
+        String requestHash = hash(request);
+
+        Entry entry;
+        boolean leader = false;
+        synchronized (cache) {
+            entry = cache.get(cacheKey);
+            if (entry == null || entry.expiresAt < System.currentTimeMillis()) {
+                entry = new Entry(requestHash, new CompletableFuture<>(), System.currentTimeMillis() + ttl.toMillis());
+                cache.put(cacheKey, entry);
+                leader = true;
+            }
+        }
+        if (!entry.requestHash.equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request.");
+        }
+        if (leader) {
+            run(cacheKey, entry, action);
+        }
+        StoredResponse stored = await(entry.result);
+        return respond(stored, responseType, !leader || stored.value() == null);
+    }
+
+    /**
+     * Deletes expired keys from the table.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:PT1H}")
+    public void deleteExpiredKeys() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Claims the key in the table, runs the action and publishes its outcome to
+     * every request waiting on the same key.
+     */
+    private <T> void run(CacheKey key, Entry entry, Supplier<ResponseEntity<T>> action) {
+        try {
+            StoredResponse existing = claim(key, entry.requestHash);
+            if (existing != null) {
+                entry.result.complete(existing);
+                return;
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                idempotencyKeyRepository.release(key.scope(), key.owner(), key.key());
+                throw e;
+            }
+            executed.increment();
+            String body = objectMapper.writeValueAsString(response.getBody());
+            StoredResponse stored = new StoredResponse(response.getStatusCode().value(), body, response.getBody());
+            if (response.getStatusCode().is2xxSuccessful()) {
+                idempotencyKeyRepository.complete(key.scope(), key.owner(), key.key(), stored.status(), body);
+            } else {
+                idempotencyKeyRepository.release(key.scope(), key.owner(), key.key());
+                forget(key, entry);
+            }
+            entry.result.complete(stored);
+        } catch (JsonProcessingException e) {
+            forget(key, entry);
+            entry.result.completeExceptionally(new IllegalStateException("Could not store the response.", e));
+        } catch (RuntimeException e) {
+            forget(key, entry);
+            entry.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Inserts the key as in flight. Returns the stored response when another
+     * request already completed it, or null when this request owns the key.
+     */
+    private StoredResponse claim(CacheKey key, String requestHash) {
+        for (int attempt = 1; attempt <= MAX_CLAIM_ATTEMPTS; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            if (idempotencyKeyRepository.claim(key.scope(), key.owner(), key.key(), requestHash, now,
+                    now.plus(ttl)) == 1) {
+                return null;
+            }
+            IdempotencyKey existing = idempotencyKeyRepository
+                    .findByScopeAndOwnerAndIdempotencyKey(key.scope(), key.owner(), key.key())
+                    .orElse(null);
+            if (existing == null) {
+                continue;
+            }
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new BadRequestException("Idempotency-Key was already used for a different request.");
+            }
+            boolean expired = existing.getExpiresAt().isBefore(now);
+            if (existing.getStatusCode() != null && !expired) {
+                return new StoredResponse(existing.getStatusCode(), existing.getResponseBody(), null);
+            }
+            boolean abandoned = existing.getStatusCode() == null
+                    && existing.getCreatedAt().isBefore(now.minus(inFlightTimeout));
+            if (!expired && !abandoned) {
+                break;
+            }
+            idempotencyKeyRepository.release(key.scope(), key.owner(), key.key());
+        }
+        conflicts.increment();
+        throw new ConflictException("A request with this Idempotency-Key is still being processed. Please retry shortly.");
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> result) {
+        try {
+            return result.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Idempotent request failed.", e.getCause());
+        } catch (TimeoutException e) {
+            conflicts.increment();
+            throw new ConflictException("A request with this Idempotency-Key is still being processed. Please retry shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request.");
+        }
+    }
+
+    /**
+     * Builds the response for the caller, decoding the stored body when the
+     * original response object is not available in this process.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> respond(StoredResponse stored, TypeReference<T> responseType, boolean replay) {
+        T body;
+        try {
+            body = stored.value() != null ? (T) stored.value() : objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the stored response.", e);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status());
+        if (replay) {
+            replayed.increment();
+            builder.header(REPLAYED_HEADER, "true");
+        }
+        return builder.body(body);
+    }
+
+    private void forget(CacheKey key, Entry entry) {
+        synchronized (cache) {
+            cache.remove(key, entry);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint the request.", e);
+        }
+    }
+
+    private String currentOwner() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getName() != null ? authentication.getName() : "anonymous";
+    }
+
+    private record CacheKey(String scope, String owner, String key) {
+    }
+
+    private record Entry(String requestHash, CompletableFuture<StoredResponse> result, long expiresAt) {
+    }
+
+    private record StoredResponse(int status, String body, Object value) {
+    }
+}
@@ -6,6 +6,7 @@ import com.hemanthjangam.event_mate.exception.BadRequestException;
 import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
 import com.hemanthjangam.event_mate.repository.NotificationRepository;
 import com.hemanthjangam.event_mate.repository.UserRepository;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -22,14 +23,15 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
 
     /**
-     * Persists a notification and mirrors it to email for the target user.
+     * Persists a notification and queues its email copy for the target user.
      */
+    @Transactional
     public void sendNotification(User user, String message) {
         log.info("Sending notification to {}: {}", user.getEmail(), message);
-        emailService.sendEmail(user.getEmail(), "New Notification from Event Mate", message);
+        outboxService.enqueueEmail(user.getEmail(), "New Notification from Event Mate", message);
 
         Notification notification = Notification.builder()
                 .user(user)
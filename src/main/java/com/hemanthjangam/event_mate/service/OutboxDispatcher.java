@@ -0,0 +1,220 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.entity.OutboxMessage;
+import com.hemanthjangam.event_mate.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches. A short transaction claims due rows with
+ * {@code FOR UPDATE SKIP LOCKED} and leases them by pushing their
+ * availability forward, so several nodes can dispatch side by side and rows
+ * held by a node that died are picked up again once the lease runs out.
+ * Messages are delivered outside that transaction on virtual threads, and the
+ * delivered ones are marked done with one update per batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final int MAX_BACKOFF_DOUBLINGS = 10;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final EmailService emailService;
+    private final BookingService bookingService;
+    private final CancellationService cancellationService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    @Value("${app.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.outbox.lease:PT1M}")
+    private Duration lease;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff:PT10S}")
+    private Duration retryBackoff;
+
+    @Value("${app.outbox.retention:P7D}")
+    private Duration retention;
+
+    private Counter delivered;
+    private Counter retried;
+    private Counter failed;
+    private Timer lag;
+    private DistributionSummary batchSizes;
+
+    /**
+     * Registers the dispatcher meters.
+     */
+    @PostConstruct
+    public void init() {
+        delivered = Counter.builder("outbox.messages").tag("result", "delivered").register(meterRegistry);
+        retried = Counter.builder("outbox.messages").tag("result", "retried").register(meterRegistry);
+        failed = Counter.builder("outbox.messages").tag("result", "failed").register(meterRegistry);
+        lag = Timer.builder("outbox.lag").publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+        batchSizes = DistributionSummary.builder("outbox.batch.size").register(meterRegistry);
+        meterRegistry.gauge("outbox.pending", pendingCount);
+        meterRegistry.gauge("outbox.oldest.pending.seconds", oldestPendingMillis, millis -> millis.get() / 1000.0);
+    }
+
+    /**
+     * Stops the workers on shutdown; undelivered messages keep their lease.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Delivers due messages batch by batch until the backlog is drained.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+    public void dispatch() {
+        List<OutboxMessage> batch;
+        do {
+            batch = claim();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+        refreshBacklog();
+    }
+
+    /**
+     * Deletes delivered messages once they are past the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval:PT1H}")
+    public void deleteDelivered() {
+        int deleted = outboxMessageRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("Deleted {} delivered outbox messages", deleted);
+        }
+    }
+
+    private List<OutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxMessageRepository.lockDueIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxMessageRepository.lease(ids, now.plus(lease));
+            return outboxMessageRepository.findAllById(ids);
+        });
+        return batch.stream().sorted(Comparator.comparing(OutboxMessage::getId)).toList();
+    }
+
+    /**
+     * Hands every message of the batch to a worker, then records the outcome.
+     * A message that is still running when the dispatcher is interrupted keeps
+     * its lease and is retried later.
+     */
+    private void deliver(List<OutboxMessage> batch) {
+        batchSizes.record(batch.size());
+        List<Future<?>> results = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            results.add(workers.submit(() -> {
+                handle(message);
+                return null;
+            }));
+        }
+
+        List<Long> done = new ArrayList<>(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            try {
+                results.get(i).get();
+                done.add(message.getId());
+                lag.record(Duration.between(message.getCreatedAt(), now));
+            } catch (ExecutionException e) {
+                fail(message, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!done.isEmpty()) {
+            outboxMessageRepository.markDone(done, now);
+            delivered.increment(done.size());
+        }
+    }
+
+    private void handle(OutboxMessage message) throws JsonProcessingException {
+        switch (message.getType()) {
+            case EMAIL -> {
+                OutboxService.EmailPayload email = objectMapper.readValue(message.getPayload(),
+                        OutboxService.EmailPayload.class);
+                emailService.sendEmail(email.to(), email.subject(), email.body());
+            }
+            case BOOKING_CONFIRMATION -> bookingService.sendBookingConfirmation(bookingId(message));
+            case BOOKING_CANCELLATION -> cancellationService.sendCancellationNotice(bookingId(message));
+            case REFUND -> cancellationService.refund(bookingId(message));
+        }
+    }
+
+    private Long bookingId(OutboxMessage message) throws JsonProcessingException {
+        return objectMapper.readValue(message.getPayload(), OutboxService.BookingPayload.class).bookingId();
+    }
+
+    /**
+     * Schedules a failed message for another attempt with exponential backoff,
+     * or parks it as failed once it has used up its attempts.
+     */
+    private void fail(OutboxMessage message, Throwable error) {
+        boolean exhausted = message.getAttempts() >= maxAttempts;
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(message.getAttempts() - 1, MAX_BACKOFF_DOUBLINGS));
+        outboxMessageRepository.markFailed(message.getId(),
+                exhausted ? OutboxMessage.Status.FAILED : OutboxMessage.Status.PENDING,
+                LocalDateTime.now().plus(backoff), String.valueOf(error.getMessage()));
+        if (exhausted) {
+            failed.increment();
+            log.error("Giving up on outbox message {} ({}) after {} attempts", message.getId(), message.getType(),
+                    message.getAttempts(), error);
+        } else {
+            retried.increment();
+            log.warn("Outbox message {} ({}) failed, retrying in {}: {}", message.getId(), message.getType(), backoff,
+                    error.getMessage());
+        }
+    }
+
+    private void refreshBacklog() {
+        Object[] summary = outboxMessageRepository.summarizePending().get(0);
+        pendingCount.set(((Number) summary[0]).longValue());
+        LocalDateTime oldest = (LocalDateTime) summary[1];
+        oldestPendingMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+}
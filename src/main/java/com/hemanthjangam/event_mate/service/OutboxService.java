@@ -0,0 +1,72 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.entity.OutboxMessage;
+import com.hemanthjangam.event_mate.repository.OutboxMessageRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Records side effects in the outbox table as part of the caller's
+ * transaction. {@link OutboxDispatcher} delivers them after commit, so a
+ * rolled-back change sends nothing and a committed one survives a crash.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Queues a message of the given type. Must be called inside the
+     * transaction that makes the business change.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueue(OutboxMessage.Type type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise the outbox payload.", e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .type(type)
+                .payload(json)
+                .status(OutboxMessage.Status.PENDING)
+                .availableAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    /**
+     * Queues a plain-text email.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueueEmail(String to, String subject, String body) {
+        enqueue(OutboxMessage.Type.EMAIL, new EmailPayload(to, subject, body));
+    }
+
+    /**
+     * Queues one message per booking with a {@link BookingPayload}, using a
+     * single insert however many bookings there are.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueueForBookings(OutboxMessage.Type type, Collection<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            outboxMessageRepository.enqueueForBookings(type.name(), bookingIds, LocalDateTime.now());
+        }
+    }
+
+    public record EmailPayload(String to, String subject, String body) {
+    }
+
+    public record BookingPayload(Long bookingId) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.PricingDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pricing rules of one event in evaluation form: conditions are unboxed into
+ * primitive bounds and section names are lower-cased once, so pricing a seat
+ * is a scan over a small array with no parsing or allocation per rule.
+ */
+final class PricingRules {
+
+    static final PricingRules NONE = new PricingRules(null, new CompiledRule[0]);
+
+    private final String source;
+    private final CompiledRule[] rules;
+
+    private PricingRules(String source, CompiledRule[] rules) {
+        this.source = source;
+        this.rules = rules;
+    }
+
+    /**
+     * Compiles parsed rule definitions. Throws IllegalArgumentException
+     * describing the first invalid rule.
+     */
+    static PricingRules compile(String source, List<PricingDto.Rule> definitions) {
+        CompiledRule[] rules = new CompiledRule[definitions.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = CompiledRule.of(definitions.get(i), i + 1);
+        }
+        return new PricingRules(source, rules);
+    }
+
+    String source() {
+        return source;
+    }
+
+    boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    /**
+     * Prices one seat. Matching rules apply in order; the result is rounded
+     * to cents and never drops below zero.
+     */
+    BigDecimal price(BigDecimal base, String sectionName, int row, double occupancy, double hoursToShow) {
+        BigDecimal price = base;
+        String section = sectionName == null ? "" : sectionName.toLowerCase(Locale.ROOT);
+        for (CompiledRule rule : rules) {
+            if (rule.matches(section, row, occupancy, hoursToShow)) {
+                price = price.multiply(rule.multiplier).add(rule.adjustment);
+            }
+        }
+        return price.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private record CompiledRule(double minOccupancy, double maxOccupancy, double minHoursToShow,
+            double maxHoursToShow, Set<String> sections, int minRow, int maxRow, BigDecimal multiplier,
+            BigDecimal adjustment) {
+
+        private static CompiledRule of(PricingDto.Rule rule, int position) {
+            String label = rule.getName() != null ? "'" + rule.getName() + "'" : "#" + position;
+            double minOccupancy = rule.getMinOccupancy() != null ? rule.getMinOccupancy() : 0;
+            double maxOccupancy = rule.getMaxOccupancy() != null ? rule.getMaxOccupancy() : 1;
+            if (minOccupancy < 0 || maxOccupancy > 1 || minOccupancy > maxOccupancy) {
+                throw new IllegalArgumentException("Pricing rule " + label + " needs occupancy bounds between 0 and 1.");
+            }
+            double minHours = rule.getMinHoursToShow() != null ? rule.getMinHoursToShow() : Double.NEGATIVE_INFINITY;
+            double maxHours = rule.getMaxHoursToShow() != null ? rule.getMaxHoursToShow() : Double.POSITIVE_INFINITY;
+            if (minHours > maxHours) {
+                throw new IllegalArgumentException("Pricing rule " + label + " has an empty time-to-show range.");
+            }
+            int minRow = rule.getMinRow() != null ? rule.getMinRow() : 1;
+            int maxRow = rule.getMaxRow() != null ? rule.getMaxRow() : Integer.MAX_VALUE;
+            if (minRow < 1 || minRow > maxRow) {
+                throw new IllegalArgumentException("Pricing rule " + label + " has an invalid row range.");
+            }
+            BigDecimal multiplier = rule.getMultiplier() != null ? rule.getMultiplier() : BigDecimal.ONE;
+            if (multiplier.signum() <= 0) {
+                throw new IllegalArgumentException("Pricing rule " + label + " needs a positive multiplier.");
+            }
+            Set<String> sections = rule.getSections() == null || rule.getSections().isEmpty()
+                    ? null
+                    : rule.getSections().stream()
+                            .map(name -> name.toLowerCase(Locale.ROOT))
+                            .collect(Collectors.toUnmodifiableSet());
+            return new CompiledRule(minOccupancy, maxOccupancy, minHours, maxHours, sections, minRow, maxRow,
+                    multiplier, rule.getAdjustment() != null ? rule.getAdjustment() : BigDecimal.ZERO);
+        }
+
+        private boolean matches(String section, int row, double occupancy, double hoursToShow) {
+            return occupancy >= minOccupancy && occupancy <= maxOccupancy
+                    && hoursToShow >= minHoursToShow && hoursToShow <= maxHoursToShow
+                    && row >= minRow && row <= maxRow
+                    && (sections == null || sections.contains(section));
+        }
+    }
+}
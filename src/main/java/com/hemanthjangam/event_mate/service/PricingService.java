@@ -0,0 +1,229 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.config.JwtService;
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.PricingDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices seats at booking time from each event's pricing rules, evaluated
+ * against the show occupancy held by {@link SeatInventoryService}. Rules are
+ * compiled once per event and recompiled only when their text changes, which
+ * also keeps every node current without invalidation messages. Quotes are
+ * signed tokens listing the priced seats, so a booking made within the quote
+ * window pays the quoted prices on any node.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PricingService {
+
+    private static final String QUOTE_SCOPE = "price-quote";
+    private static final String EVENT_CLAIM = "eventId";
+    private static final String SHOW_CLAIM = "showDate";
+    private static final String SEATS_CLAIM = "seats";
+
+    private final SeatInventoryService seatInventoryService;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, PricingRules> compiled = new ConcurrentHashMap<>();
+
+    @Value("${app.pricing.quote-ttl:PT10M}")
+    private Duration quoteTtl;
+
+    private Timer quoteLatency;
+    private Counter quotesHonoured;
+    private Counter compilations;
+
+    /**
+     * Registers the pricing meters.
+     */
+    @PostConstruct
+    public void init() {
+        quoteLatency = Timer.builder("pricing.quote.latency").register(meterRegistry);
+        quotesHonoured = Counter.builder("pricing.quotes.honoured").register(meterRegistry);
+        compilations = Counter.builder("pricing.rules.compilations").register(meterRegistry);
+        meterRegistry.gauge("pricing.rules.events", compiled, Map::size);
+    }
+
+    /**
+     * Parses and validates a pricing rule document, a JSON array of rules.
+     * Blank documents mean the event is sold at its section prices.
+     */
+    PricingRules compile(String source) {
+        if (source == null || source.isBlank()) {
+            return PricingRules.NONE;
+        }
+        try {
+            List<PricingDto.Rule> rules = objectMapper.readValue(source, new TypeReference<List<PricingDto.Rule>>() {
+            });
+            return PricingRules.compile(source, rules);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Pricing rules must be a JSON array of rules: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Prices the requested seats for a booking. With a quote token the quoted
+     * prices are used, provided the quote is unexpired, was issued to the
+     * same user and covers exactly these seats; otherwise prices are live.
+     */
+    public List<BigDecimal> priceSeats(Event event, LocalDateTime showDate, Map<Long, EventSection> sections,
+            List<BookingDto.TicketRequest> tickets, String quoteToken, String subject) {
+        if (quoteToken != null && !quoteToken.isBlank()) {
+            return quotedPrices(event, showDate, tickets, quoteToken, subject);
+        }
+        return livePrices(event, showDate, sections, tickets);
+    }
+
+    /**
+     * Prices seats at the current occupancy and signs the result so the same
+     * prices can be booked until the quote expires.
+     */
+    public PricingDto.QuoteResponse quote(Event event, LocalDateTime showDate, Map<Long, EventSection> sections,
+            List<BookingDto.TicketRequest> tickets, String subject) {
+        return quoteLatency.record(() -> {
+            List<BigDecimal> prices = livePrices(event, showDate, sections, tickets);
+            List<PricingDto.SeatPrice> seats = new ArrayList<>(tickets.size());
+            List<String> claims = new ArrayList<>(tickets.size());
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < tickets.size(); i++) {
+                BookingDto.TicketRequest ticket = tickets.get(i);
+                BigDecimal price = prices.get(i);
+                total = total.add(price);
+                seats.add(PricingDto.SeatPrice.builder()
+                        .sectionId(ticket.getSectionId())
+                        .row(ticket.getRow())
+                        .col(ticket.getCol())
+                        .price(price)
+                        .build());
+                claims.add(seatKey(ticket) + "=" + price.toPlainString());
+            }
+            String token = jwtService.generateScopedToken(subject, QUOTE_SCOPE,
+                    Map.of(EVENT_CLAIM, event.getId(), SHOW_CLAIM, showDate.toString(), SEATS_CLAIM, claims),
+                    quoteTtl.toMillis());
+            return PricingDto.QuoteResponse.builder()
+                    .eventId(event.getId())
+                    .showDate(showDate)
+                    .seats(seats)
+                    .totalAmount(total)
+                    .quoteToken(token)
+                    .expiresAt(LocalDateTime.now().plus(quoteTtl))
+                    .build();
+        });
+    }
+
+    /**
+     * Prices seats from the compiled rules and the in-memory show occupancy.
+     * Events without rules skip the occupancy lookup entirely.
+     */
+    List<BigDecimal> livePrices(Event event, LocalDateTime showDate, Map<Long, EventSection> sections,
+            List<BookingDto.TicketRequest> tickets) {
+        PricingRules rules = rules(event);
+        List<BigDecimal> prices = new ArrayList<>(tickets.size());
+        if (rules.isEmpty()) {
+            tickets.forEach(ticket -> prices.add(sections.get(ticket.getSectionId()).getPrice()));
+            return prices;
+        }
+        double occupancy = seatInventoryService.occupancyRatio(event.getId(), showDate);
+        double hoursToShow = Duration.between(LocalDateTime.now(), showDate).toSeconds() / 3600.0;
+        for (BookingDto.TicketRequest ticket : tickets) {
+            EventSection section = sections.get(ticket.getSectionId());
+            prices.add(rules.price(section.getPrice(), section.getName(), ticket.getRow(), occupancy, hoursToShow));
+        }
+        return prices;
+    }
+
+    /**
+     * Returns the compiled rules of an event, compiling them on first use and
+     * whenever the stored rule text differs from the compiled one.
+     */
+    private PricingRules rules(Event event) {
+        String source = event.getPricingRules();
+        if (source == null || source.isBlank()) {
+            return PricingRules.NONE;
+        }
+        PricingRules rules = compiled.get(event.getId());
+        if (rules != null && source.equals(rules.source())) {
+            return rules;
+        }
+        compilations.increment();
+        try {
+            rules = compile(source);
+        } catch (BadRequestException e) {
+            // Stored rules are validated on save; fall back to section prices rather than block sales
+            log.warn("Ignoring invalid pricing rules of event {}: {}", event.getId(), e.getMessage());
+            rules = PricingRules.compile(source, List.of());
+        }
+        compiled.put(event.getId(), rules);
+        return rules;
+    }
+
+    private List<BigDecimal> quotedPrices(Event event, LocalDateTime showDate, List<BookingDto.TicketRequest> tickets,
+            String quoteToken, String subject) {
+        Claims claims;
+        try {
+            claims = jwtService.parseScopedToken(quoteToken, QUOTE_SCOPE);
+        } catch (ExpiredJwtException e) {
+            throw new BadRequestException("The price quote has expired. Please request a new quote.");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadRequestException("The price quote is invalid.");
+        }
+        if (subject == null || !subject.equals(claims.getSubject())
+                || !event.getId().equals(claims.get(EVENT_CLAIM, Number.class).longValue())
+                || !showDate.toString().equals(claims.get(SHOW_CLAIM, String.class))) {
+            throw new BadRequestException("The price quote does not match this booking.");
+        }
+        Map<String, BigDecimal> quoted = new HashMap<>();
+        for (Object seat : claims.get(SEATS_CLAIM, List.class)) {
+            String[] parts = seat.toString().split("=", 2);
+            quoted.put(parts[0], new BigDecimal(parts[1]));
+        }
+        if (quoted.size() != tickets.size()) {
+            throw new BadRequestException("The price quote does not match the selected seats.");
+        }
+        List<BigDecimal> prices = new ArrayList<>(tickets.size());
+        for (BookingDto.TicketRequest ticket : tickets) {
+            BigDecimal price = quoted.get(seatKey(ticket));
+            if (price == null) {
+                throw new BadRequestException("The price quote does not match the selected seats.");
+            }
+            prices.add(price);
+        }
+        quotesHonoured.increment();
+        return prices;
+    }
+
+    private String seatKey(BookingDto.TicketRequest ticket) {
+        return ticket.getSectionId() + ":" + ticket.getRow() + ":" + ticket.getCol();
+    }
+}
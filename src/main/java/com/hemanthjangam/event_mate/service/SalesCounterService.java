@@ -0,0 +1,368 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.SectionSales;
+import com.hemanthjangam.event_mate.entity.ShowSales;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.repository.ShowSalesRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps seats sold, seats held and revenue per show section without counting
+ * tickets on every read. Committed seat changes bump striped in-memory deltas,
+ * a periodic flush adds them to the {@code show_sales} table, and reads combine
+ * the table with the deltas not yet flushed. A slower reconciliation job
+ * recounts the live tickets and repairs any drift, for example from deltas lost
+ * in a crash. Every node flushes and reconciles on its own; a repair only
+ * lands on a row no flush has touched since the drift was confirmed, so
+ * deltas of other nodes are never counted twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesCounterService {
+
+    private final ShowSalesRepository showSalesRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<SectionKey, Deltas> deltas = new ConcurrentHashMap<>();
+
+    @Value("${app.sales.reconcile.repair:true}")
+    private boolean repair;
+
+    @Value("${app.sales.retain-after-show:P1D}")
+    private Duration retainAfterShow;
+
+    @Value("${app.sales.flush-interval:PT5S}")
+    private Duration flushInterval;
+
+    @Value("${app.sales.reconcile.confirm-after:PT1M}")
+    private Duration confirmAfter;
+
+    private Counter flushFailures;
+    private Counter drift;
+    private Counter unpriced;
+
+    /**
+     * Registers the counter meters. Suspected drift is confirmed only after
+     * every node has had a flush, so the delay must be longer than the flush
+     * interval.
+     */
+    @PostConstruct
+    public void init() {
+        if (confirmAfter.compareTo(flushInterval.multipliedBy(2)) < 0) {
+            throw new IllegalStateException("app.sales.reconcile.confirm-after must be at least twice "
+                    + "app.sales.flush-interval so every node flushes before drift is confirmed.");
+        }
+        flushFailures = Counter.builder("sales.counters.flush.failures").register(meterRegistry);
+        drift = Counter.builder("sales.counters.drift").register(meterRegistry);
+        unpriced = Counter.builder("sales.counters.unpriced").register(meterRegistry);
+        meterRegistry.gauge("sales.counters.sections", deltas, Map::size);
+    }
+
+    /**
+     * Writes the remaining deltas before the node stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Applies a committed seat change to the deltas of the affected sections.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        boolean booking = change.previous() == SeatsChangedEvent.SeatState.BOOKED
+                || change.current() == SeatsChangedEvent.SeatState.BOOKED;
+        if (booking && change.prices() == null) {
+            // Revenue is left to the next reconciliation
+            unpriced.increment();
+        }
+        for (int i = 0; i < change.seats().size(); i++) {
+            Deltas section = deltas.computeIfAbsent(
+                    new SectionKey(change.eventId(), change.showDate(), change.seats().get(i).sectionId()),
+                    ignored -> new Deltas());
+            long cents = change.prices() != null ? toCents(change.prices().get(i)) : 0;
+            section.apply(change.previous(), -1, cents);
+            section.apply(change.current(), 1, cents);
+        }
+    }
+
+    /**
+     * Returns the counters of one event, or of every show when no event is
+     * given, including changes that have not been flushed yet.
+     */
+    public List<SectionSales> getSales(Long eventId) {
+        List<ShowSales> rows = eventId != null
+                ? showSalesRepository.findByEventIdOrderByShowDateAscSectionIdAsc(eventId)
+                : showSalesRepository.findAllByOrderByEventIdAscShowDateAscSectionIdAsc();
+        List<SectionSales> sales = new ArrayList<>(rows.size());
+        for (ShowSales row : rows) {
+            Deltas pending = deltas.get(new SectionKey(row.getEventId(), row.getShowDate(), row.getSectionId()));
+            long sold = row.getSeatsSold();
+            long held = row.getSeatsHeld();
+            BigDecimal revenue = row.getRevenue();
+            if (pending != null) {
+                sold += pending.sold.sum();
+                held += pending.held.sum();
+                revenue = revenue.add(BigDecimal.valueOf(pending.revenueCents.sum(), 2));
+            }
+            sales.add(new SectionSales(row.getEventId(), row.getShowDate(), row.getSectionId(), sold, held, revenue));
+        }
+        return sales;
+    }
+
+    /**
+     * Adds the accumulated deltas to the summary table. Each delta is taken out
+     * by subtracting what was read, so changes arriving meanwhile stay for the
+     * next flush, and a failed write puts its share back.
+     */
+    @Scheduled(fixedDelayString = "${app.sales.flush-interval:PT5S}")
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, section) -> {
+            long sold = section.sold.sum();
+            long held = section.held.sum();
+            long cents = section.revenueCents.sum();
+            if (sold == 0 && held == 0 && cents == 0) {
+                if (key.showDate().plus(retainAfterShow).isBefore(now)) {
+                    // A change racing this removal is rare this long after the show and is recounted on reconcile
+                    deltas.remove(key, section);
+                }
+                return;
+            }
+            section.add(-sold, -held, -cents);
+            try {
+                showSalesRepository.addDeltas(key.eventId(), key.showDate(), key.sectionId(), sold, held,
+                        BigDecimal.valueOf(cents, 2), now);
+            } catch (RuntimeException e) {
+                section.add(sold, held, cents);
+                flushFailures.increment();
+                log.warn("Could not flush sales counters for event {} at {}", key.eventId(), key.showDate(), e);
+            }
+        });
+    }
+
+    /**
+     * Recounts live tickets per show section with one grouped query and
+     * compares the result with the flushed counters plus the deltas still
+     * pending here. Other nodes may hold deltas of their own that the recount
+     * already includes, so a mismatch is only a suspicion at first: each
+     * suspect is checked again after {@code app.sales.reconcile.confirm-after},
+     * by which time every node has flushed what it held.
+     */
+    @Scheduled(fixedDelayString = "${app.sales.reconcile.interval:PT1H}",
+            initialDelayString = "${app.sales.reconcile.initial-delay:PT30S}")
+    public void reconcile() {
+        flush();
+        Map<SectionKey, Observation> suspects = transactionTemplate.execute(status -> {
+            Map<SectionKey, Observation> found = new HashMap<>();
+            observe().forEach((key, observation) -> {
+                if (observation.drifted(pending(key))) {
+                    found.put(key, observation);
+                }
+            });
+            return found;
+        });
+        if (suspects != null && !suspects.isEmpty()) {
+            log.debug("Sales reconciliation suspects {} sections, checking again in {}", suspects.size(), confirmAfter);
+            taskScheduler.schedule(() -> confirm(suspects), Instant.now().plus(confirmAfter));
+        }
+    }
+
+    /**
+     * Repairs the suspects that still mismatch, with neither their row nor
+     * their recount changed since they were first seen. A delta held by any
+     * node when the suspicion arose has been flushed by now and would have
+     * moved the row's {@code updated_at}, and a change committed since would
+     * have moved the recount, so what is left is real drift. The counters are
+     * then set to the recount, less the deltas pending here, on the condition
+     * that the row is still unchanged; a flush or another node's repair that
+     * gets there first makes the update miss, and the section is looked at
+     * again on the next run. This holds as long as a node does not keep
+     * failing to flush for longer than the confirmation delay.
+     */
+    private void confirm(Map<SectionKey, Observation> suspects) {
+        try {
+            flush();
+            Integer repaired = transactionTemplate.execute(status -> {
+                Map<SectionKey, Observation> current = observe();
+                LocalDateTime now = LocalDateTime.now();
+                int found = 0;
+                for (Map.Entry<SectionKey, Observation> suspect : suspects.entrySet()) {
+                    SectionKey key = suspect.getKey();
+                    Observation before = suspect.getValue();
+                    Observation after = current.getOrDefault(key, Observation.empty(key));
+                    Deltas pending = pending(key);
+                    if (!after.equals(before) || !after.drifted(pending)) {
+                        continue;
+                    }
+                    SectionSales expected = after.recount();
+                    log.warn("Sales counters drifted for event {} at {} section {}: stored {}/{}/{}, tickets {}/{}/{}",
+                            key.eventId(), key.showDate(), key.sectionId(), after.storedSold(), after.storedHeld(),
+                            after.storedRevenue(), expected.seatsSold(), expected.seatsHeld(), expected.revenue());
+                    found++;
+                    if (!repair) {
+                        continue;
+                    }
+                    long sold = expected.seatsSold();
+                    long held = expected.seatsHeld();
+                    BigDecimal revenue = expected.revenue();
+                    if (pending != null) {
+                        sold -= pending.sold.sum();
+                        held -= pending.held.sum();
+                        revenue = revenue.subtract(BigDecimal.valueOf(pending.revenueCents.sum(), 2));
+                    }
+                    if (after.updatedAt() == null) {
+                        showSalesRepository.insertIfAbsent(key.eventId(), key.showDate(), key.sectionId(), sold, held,
+                                revenue, now);
+                    } else {
+                        showSalesRepository.resetIfUnchanged(key.eventId(), key.showDate(), key.sectionId(), sold,
+                                held, revenue, after.updatedAt(), now);
+                    }
+                }
+                return found;
+            });
+            if (repaired != null && repaired > 0) {
+                drift.increment(repaired);
+                log.info("Sales reconciliation found {} drifted sections{}", repaired, repair ? " and repaired them" : "");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not confirm sales counter drift", e);
+        }
+    }
+
+    /**
+     * Returns the stored counters and the ticket recount of every section that
+     * has either.
+     */
+    private Map<SectionKey, Observation> observe() {
+        Map<SectionKey, SectionSales> actual = new HashMap<>();
+        for (SectionSales sales : ticketRepository.summarizeSales(Ticket.TicketStatus.BOOKED,
+                Ticket.TicketStatus.HELD)) {
+            actual.put(new SectionKey(sales.eventId(), sales.showDate(), sales.sectionId()), sales);
+        }
+        Map<SectionKey, Observation> observations = new HashMap<>();
+        for (ShowSales row : showSalesRepository.findAll()) {
+            SectionKey key = new SectionKey(row.getEventId(), row.getShowDate(), row.getSectionId());
+            SectionSales recount = actual.remove(key);
+            observations.put(key, new Observation(row.getSeatsSold(), row.getSeatsHeld(), row.getRevenue(),
+                    row.getUpdatedAt(), recount != null ? recount : Observation.zero(key)));
+        }
+        // Sections with live tickets but no row yet, such as shows sold before the table existed
+        actual.forEach((key, recount) -> observations.put(key,
+                new Observation(0, 0, BigDecimal.ZERO, null, recount)));
+        return observations;
+    }
+
+    private Deltas pending(SectionKey key) {
+        return deltas.get(key);
+    }
+
+    private long toCents(BigDecimal price) {
+        return price == null ? 0 : price.movePointRight(2).longValue();
+    }
+
+    private record SectionKey(Long eventId, LocalDateTime showDate, Long sectionId) {
+    }
+
+    /**
+     * Stored counters of a section, with the time they were last written, next
+     * to its ticket recount. Revenue is compared by value, so 10.0 and 10.00
+     * count as equal.
+     */
+    private record Observation(long storedSold, long storedHeld, BigDecimal storedRevenue, LocalDateTime updatedAt,
+            SectionSales recount) {
+
+        private static Observation empty(SectionKey key) {
+            return new Observation(0, 0, BigDecimal.ZERO, null, zero(key));
+        }
+
+        private static SectionSales zero(SectionKey key) {
+            return new SectionSales(key.eventId(), key.showDate(), key.sectionId(), 0, 0, BigDecimal.ZERO);
+        }
+
+        /**
+         * Returns whether the stored counters plus the given pending deltas
+         * differ from the recount.
+         */
+        private boolean drifted(Deltas pending) {
+            long sold = storedSold;
+            long held = storedHeld;
+            BigDecimal revenue = storedRevenue;
+            if (pending != null) {
+                sold += pending.sold.sum();
+                held += pending.held.sum();
+                revenue = revenue.add(BigDecimal.valueOf(pending.revenueCents.sum(), 2));
+            }
+            return sold != recount.seatsSold() || held != recount.seatsHeld()
+                    || revenue.compareTo(recount.revenue()) != 0;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Observation that && storedSold == that.storedSold
+                    && storedHeld == that.storedHeld && storedRevenue.compareTo(that.storedRevenue) == 0
+                    && Objects.equals(updatedAt, that.updatedAt) && recount.seatsSold() == that.recount.seatsSold()
+                    && recount.seatsHeld() == that.recount.seatsHeld()
+                    && recount.revenue().compareTo(that.recount.revenue()) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(storedSold, storedHeld, updatedAt, recount.seatsSold(), recount.seatsHeld());
+        }
+    }
+
+    /**
+     * Unflushed changes of one show section. Revenue is kept in cents so it can
+     * live in a {@link LongAdder}.
+     */
+    private static final class Deltas {
+        private final LongAdder sold = new LongAdder();
+        private final LongAdder held = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+
+        private void apply(SeatsChangedEvent.SeatState state, int sign, long cents) {
+            if (state == SeatsChangedEvent.SeatState.BOOKED) {
+                sold.add(sign);
+                revenueCents.add(sign * cents);
+            } else if (state == SeatsChangedEvent.SeatState.HELD) {
+                held.add(sign);
+            }
+        }
+
+        private void add(long seatsSold, long seatsHeld, long cents) {
+            sold.add(seatsSold);
+            held.add(seatsHeld);
+            revenueCents.add(cents);
+        }
+    }
+}
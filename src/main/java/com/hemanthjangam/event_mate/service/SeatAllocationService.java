@@ -0,0 +1,120 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.exception.SeatUnavailableException;
+import com.hemanthjangam.event_mate.repository.EventSectionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Books the best available seats for a party instead of exact coordinates.
+ * Seats are chosen from the in-memory occupancy bitmaps and then booked through
+ * the regular booking path; when another booking wins the race for a chosen
+ * seat, allocation runs again against the updated bitmaps.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatAllocationService {
+
+    private final EventSectionRepository eventSectionRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final BookingLaneService bookingLaneService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.booking.best-available.max-quantity:10}")
+    private int maxQuantity;
+
+    @Value("${app.booking.best-available.max-attempts:3}")
+    private int maxAttempts;
+
+    private Timer allocationLatency;
+    private Counter allocationRetries;
+
+    /**
+     * Registers the allocation meters.
+     */
+    @PostConstruct
+    public void init() {
+        allocationLatency = Timer.builder("seat.allocation.latency").register(meterRegistry);
+        allocationRetries = Counter.builder("seat.allocation.retries").register(meterRegistry);
+    }
+
+    /**
+     * Picks and books the best free seats for the requested party size, in the
+     * requested section or in any section of the event, cheapest first.
+     */
+    public BookingDto.BookingResponse bookBestAvailable(BookingDto.BestAvailableRequest request) {
+        if (request.getEventId() == null || request.getShowDate() == null) {
+            throw new BadRequestException("Event and show date are required.");
+        }
+        if (request.getQuantity() < 1 || request.getQuantity() > maxQuantity) {
+            throw new BadRequestException("Quantity must be between 1 and " + maxQuantity + ".");
+        }
+        List<Long> sectionIds = candidateSections(request);
+
+        for (int attempt = 1; ; attempt++) {
+            List<SeatCoordinate> seats = allocationLatency.record(() -> seatInventoryService.allocate(
+                    request.getEventId(), request.getShowDate(), sectionIds, request.getQuantity()));
+            if (seats.isEmpty()) {
+                throw new SeatUnavailableException("Not enough free seats left for " + request.getQuantity()
+                        + " tickets in the selected section.");
+            }
+            try {
+                return bookingLaneService.createBooking(toBookingRequest(request, seats));
+            } catch (SeatUnavailableException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                allocationRetries.increment();
+                log.debug("Best-available seats for event {} were taken, retrying: {}", request.getEventId(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the section ids to search in order of preference.
+     */
+    private List<Long> candidateSections(BookingDto.BestAvailableRequest request) {
+        List<EventSection> sections = eventSectionRepository.findByEvent_Id(request.getEventId());
+        if (request.getSectionId() != null) {
+            sections = sections.stream().filter(section -> section.getId().equals(request.getSectionId())).toList();
+            if (sections.isEmpty()) {
+                throw new BadRequestException("Selected section does not belong to the requested event.");
+            }
+        }
+        return sections.stream()
+                .sorted(Comparator.comparing(EventSection::getPrice).thenComparing(EventSection::getId))
+                .map(EventSection::getId)
+                .toList();
+    }
+
+    private BookingDto.BookingRequest toBookingRequest(BookingDto.BestAvailableRequest request,
+            List<SeatCoordinate> seats) {
+        return BookingDto.BookingRequest.builder()
+                .eventId(request.getEventId())
+                .showDate(request.getShowDate())
+                .paymentMethod(request.getPaymentMethod())
+                .tickets(seats.stream()
+                        .map(seat -> BookingDto.TicketRequest.builder()
+                                .sectionId(seat.sectionId())
+                                .row(seat.row())
+                                .col(seat.col())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
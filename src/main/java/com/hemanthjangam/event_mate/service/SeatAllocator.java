@@ -0,0 +1,109 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the best free seats for a party from section bitmaps, which are given
+ * in order of preference. A block of adjacent seats in one row always wins over
+ * a split party; the first section that can seat the block wins, and within it
+ * the block closest to the middle of the section. Rows whose longest free run
+ * is too short are skipped without being scanned.
+ */
+final class SeatAllocator {
+
+    private SeatAllocator() {
+    }
+
+    /**
+     * Returns the chosen seats, or an empty list when no section has enough
+     * free seats for the party.
+     */
+    static List<SeatCoordinate> allocate(Map<Long, SeatBitmap> sections, int quantity) {
+        List<SeatCoordinate> block = bestBlock(sections, quantity);
+        return block.isEmpty() ? bestSplit(sections, quantity) : block;
+    }
+
+    /**
+     * Finds the best-scoring run of adjacent free seats in a single row of the
+     * first section that has one.
+     */
+    private static List<SeatCoordinate> bestBlock(Map<Long, SeatBitmap> sections, int quantity) {
+        Long bestSection = null;
+        int bestRow = 0;
+        int bestStart = 0;
+        double bestScore = Double.MAX_VALUE;
+        for (Map.Entry<Long, SeatBitmap> entry : sections.entrySet()) {
+            if (bestSection != null) {
+                break;
+            }
+            SeatBitmap bitmap = entry.getValue();
+            if (bitmap.cols() < quantity) {
+                continue;
+            }
+            int preferredStart = (int) Math.round((bitmap.cols() + 1) / 2.0 - (quantity - 1) / 2.0);
+            for (int row = 1; row <= bitmap.rows(); row++) {
+                if (bitmap.longestFreeRun(row) < quantity) {
+                    continue;
+                }
+                int start = bitmap.closestFreeBlock(row, quantity, preferredStart);
+                double score = score(bitmap, row, start + (quantity - 1) / 2.0);
+                if (start > 0 && score < bestScore) {
+                    bestSection = entry.getKey();
+                    bestRow = row;
+                    bestStart = start;
+                    bestScore = score;
+                }
+            }
+        }
+
+        List<SeatCoordinate> seats = new ArrayList<>(quantity);
+        if (bestSection != null) {
+            for (int col = bestStart; col < bestStart + quantity; col++) {
+                seats.add(new SeatCoordinate(bestSection, bestRow, col));
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Fallback for parties no single row can seat: takes the best individual
+     * free seats of the first section with enough of them.
+     */
+    private static List<SeatCoordinate> bestSplit(Map<Long, SeatBitmap> sections, int quantity) {
+        for (Map.Entry<Long, SeatBitmap> entry : sections.entrySet()) {
+            SeatBitmap bitmap = entry.getValue();
+            if (bitmap.rows() * bitmap.cols() - bitmap.occupiedCount() < quantity) {
+                continue;
+            }
+            List<SeatCoordinate> free = new ArrayList<>();
+            for (int row = 1; row <= bitmap.rows(); row++) {
+                for (int col = 1; col <= bitmap.cols(); col++) {
+                    if (!bitmap.isOccupied(row, col)) {
+                        free.add(new SeatCoordinate(entry.getKey(), row, col));
+                    }
+                }
+            }
+            return free.stream()
+                    .sorted(Comparator.comparingDouble(seat -> score(bitmap, seat.row(), seat.col())))
+                    .limit(quantity)
+                    .sorted(Comparator.comparingInt(SeatCoordinate::row).thenComparingInt(SeatCoordinate::col))
+                    .toList();
+        }
+        return List.of();
+    }
+
+    /**
+     * Distance of a seat position from the middle of its section, with rows and
+     * columns normalised to the section size. Lower is better.
+     */
+    private static double score(SeatBitmap bitmap, int row, double col) {
+        double colOffset = Math.abs(col - (bitmap.cols() + 1) / 2.0) / bitmap.cols();
+        double rowOffset = Math.abs(row - (bitmap.rows() + 1) / 2.0) / bitmap.rows();
+        return colOffset + rowOffset;
+    }
+}
@@ -0,0 +1,212 @@
+package com.hemanthjangam.event_mate.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size occupancy bitmap for one event section. Seats are stored row-major
+ * with every row starting on a fresh 64-bit word so row scans stay cheap. Each
+ * row also tracks its longest run of free seats so allocation can skip rows
+ * that cannot fit a block without scanning them.
+ */
+class SeatBitmap {
+
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    private final AtomicLongArray words;
+    private final AtomicIntegerArray longestFreeRuns;
+
+    SeatBitmap(int rows, int cols) {
+        this.rows = Math.max(rows, 0);
+        this.cols = Math.max(cols, 0);
+        this.wordsPerRow = (this.cols + 63) >>> 6;
+        this.words = new AtomicLongArray(this.rows * this.wordsPerRow);
+        this.longestFreeRuns = new AtomicIntegerArray(this.rows);
+        for (int row = 0; row < this.rows; row++) {
+            longestFreeRuns.set(row, this.cols);
+        }
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns true when the 1-based seat is marked occupied. Seats outside the
+     * section bounds are reported as free so callers fall back to bounds checks.
+     */
+    boolean isOccupied(int row, int col) {
+        if (!inBounds(row, col)) {
+            return false;
+        }
+        int bit = col - 1;
+        return (words.get(wordIndex(row, bit)) & (1L << bit)) != 0;
+    }
+
+    /**
+     * Marks the 1-based seat as occupied.
+     */
+    void set(int row, int col) {
+        if (!inBounds(row, col)) {
+            return;
+        }
+        int bit = col - 1;
+        long mask = 1L << bit;
+        int index = wordIndex(row, bit);
+        long current;
+        do {
+            current = words.get(index);
+        } while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask));
+        refreshLongestFreeRun(row);
+    }
+
+    /**
+     * Marks the 1-based seat as free.
+     */
+    void clear(int row, int col) {
+        if (!inBounds(row, col)) {
+            return;
+        }
+        int bit = col - 1;
+        long mask = 1L << bit;
+        int index = wordIndex(row, bit);
+        long current;
+        do {
+            current = words.get(index);
+        } while ((current & mask) != 0 && !words.compareAndSet(index, current, current & ~mask));
+        refreshLongestFreeRun(row);
+    }
+
+    /**
+     * Counts occupied seats across the whole section.
+     */
+    int occupiedCount() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Packs the occupancy into a row-major bitset without row padding: seat
+     * (row, col) is bit {@code (row - 1) * cols + (col - 1)}, least significant
+     * bit first within each byte.
+     */
+    byte[] toByteArray() {
+        byte[] bytes = new byte[(rows * cols + 7) >>> 3];
+        for (int row = 1; row <= rows; row++) {
+            long[] rowWords = rowWords(row);
+            int base = (row - 1) * cols;
+            for (int bit = nextBit(rowWords, 0, true); bit < cols; bit = nextBit(rowWords, bit + 1, true)) {
+                int index = base + bit;
+                bytes[index >>> 3] |= (byte) (1 << (index & 7));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the length of the longest run of free seats in the 1-based row.
+     */
+    int longestFreeRun(int row) {
+        return row >= 1 && row <= rows ? longestFreeRuns.get(row - 1) : 0;
+    }
+
+    /**
+     * Returns the 1-based start column of the free block of the given length in
+     * the row whose start is closest to the preferred column, or -1 when no
+     * free run in the row is long enough.
+     */
+    int closestFreeBlock(int row, int length, int preferredStart) {
+        if (length < 1 || longestFreeRun(row) < length) {
+            return -1;
+        }
+        long[] rowWords = rowWords(row);
+        int best = -1;
+        int bit = 0;
+        while (bit < cols) {
+            int start = nextBit(rowWords, bit, false);
+            if (start >= cols) {
+                break;
+            }
+            int end = nextBit(rowWords, start, true);
+            if (end - start >= length) {
+                int candidate = Math.max(start + 1, Math.min(preferredStart, end - length + 1));
+                if (best < 0 || Math.abs(candidate - preferredStart) < Math.abs(best - preferredStart)) {
+                    best = candidate;
+                }
+            }
+            bit = end;
+        }
+        return best;
+    }
+
+    /**
+     * Recomputes the longest free run of a row after one of its seats changed.
+     * The value is re-derived until it was computed from the row as it stands
+     * after the write, so concurrent updates cannot leave a stale length.
+     */
+    private void refreshLongestFreeRun(int row) {
+        long[] snapshot;
+        do {
+            snapshot = rowWords(row);
+            longestFreeRuns.set(row - 1, longestFreeRun(snapshot));
+        } while (!Arrays.equals(snapshot, rowWords(row)));
+    }
+
+    private int longestFreeRun(long[] rowWords) {
+        int longest = 0;
+        int bit = 0;
+        while (bit < cols) {
+            int start = nextBit(rowWords, bit, false);
+            if (start >= cols) {
+                break;
+            }
+            int end = nextBit(rowWords, start, true);
+            longest = Math.max(longest, end - start);
+            bit = end;
+        }
+        return longest;
+    }
+
+    /**
+     * Returns the first 0-based column at or after {@code fromBit} that is
+     * occupied (or free), or the column count when there is none.
+     */
+    private int nextBit(long[] rowWords, int fromBit, boolean occupied) {
+        for (int word = fromBit >>> 6; word < rowWords.length; word++) {
+            long candidates = occupied ? rowWords[word] : ~rowWords[word];
+            if (word == fromBit >>> 6) {
+                candidates &= -1L << (fromBit & 63);
+            }
+            if (candidates != 0) {
+                return Math.min((word << 6) + Long.numberOfTrailingZeros(candidates), cols);
+            }
+        }
+        return cols;
+    }
+
+    private long[] rowWords(int row) {
+        long[] rowWords = new long[wordsPerRow];
+        int offset = (row - 1) * wordsPerRow;
+        for (int word = 0; word < wordsPerRow; word++) {
+            rowWords[word] = words.get(offset + word);
+        }
+        return rowWords;
+    }
+
+    private boolean inBounds(int row, int col) {
+        return row >= 1 && row <= rows && col >= 1 && col <= cols;
+    }
+
+    private int wordIndex(int row, int bit) {
+        return (row - 1) * wordsPerRow + (bit >>> 6);
+    }
+}
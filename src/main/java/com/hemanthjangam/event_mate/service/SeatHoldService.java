@@ -0,0 +1,217 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.HoldDeadline;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.dto.ShowSeat;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.repository.BookingRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the seat holds of pending bookings and releases them when their
+ * deadline passes. Deadlines live in an in-memory timing wheel so each tick only
+ * touches holds that are actually due; expiry itself runs as set-based updates.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldService {
+
+    private static final long WHEEL_TICK_MILLIS = 1000;
+    private static final int WHEEL_BITS_PER_LEVEL = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final BookingRepository bookingRepository;
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final TimingWheel wheel = new TimingWheel(WHEEL_TICK_MILLIS, WHEEL_BITS_PER_LEVEL, WHEEL_LEVELS,
+            System.currentTimeMillis());
+
+    @Value("${app.booking.holds.ttl:PT35M}")
+    private Duration holdTtl;
+
+    @Value("${app.booking.holds.expiry-batch-size:500}")
+    private int expiryBatchSize;
+
+    @Value("${app.booking.holds.backstop-grace:PT30S}")
+    private Duration backstopGrace;
+
+    private Counter holdsCreated;
+    private Counter holdsExpired;
+    private Counter holdsConverted;
+
+    /**
+     * Registers the hold lifecycle meters. Holds must outlive the shortest
+     * Stripe checkout session so a session never expires after its hold.
+     */
+    @PostConstruct
+    public void init() {
+        if (holdTtl.compareTo(StripeService.MIN_SESSION_LIFETIME) < 0) {
+            throw new IllegalStateException("app.booking.holds.ttl must be at least "
+                    + StripeService.MIN_SESSION_LIFETIME + " to cover a Stripe checkout session.");
+        }
+        holdsCreated = Counter.builder("seat.holds.created").register(meterRegistry);
+        holdsExpired = Counter.builder("seat.holds.expired").register(meterRegistry);
+        holdsConverted = Counter.builder("seat.holds.converted").register(meterRegistry);
+        meterRegistry.gauge("seat.holds.outstanding", wheel, TimingWheel::size);
+    }
+
+    /**
+     * Returns the deadline for a hold that starts now.
+     */
+    public LocalDateTime newHoldDeadline() {
+        return LocalDateTime.now().plus(holdTtl);
+    }
+
+    /**
+     * Starts tracking the hold of a freshly created pending booking. A booking
+     * whose transaction later rolls back simply expires as a no-op.
+     */
+    public void track(Long bookingId, LocalDateTime expiresAt) {
+        wheel.schedule(bookingId, toEpochMillis(expiresAt));
+        holdsCreated.increment();
+    }
+
+    /**
+     * Stops tracking a hold whose seats were promoted to booked.
+     */
+    public void markConverted(Long bookingId) {
+        wheel.cancel(bookingId);
+        holdsConverted.increment();
+    }
+
+    /**
+     * Stops tracking the holds of cancelled bookings.
+     */
+    public void release(Collection<Long> bookingIds) {
+        bookingIds.forEach(wheel::cancel);
+    }
+
+    /**
+     * Expires a lapsed hold right away instead of on its next tick.
+     */
+    public void expireNow(Long bookingId) {
+        wheel.cancel(bookingId);
+        expireBatch(List.of(bookingId));
+    }
+
+    /**
+     * Releases holds that lapsed while the application was down and reloads the
+     * deadlines of the ones that are still running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        expireOverdue(now);
+        List<HoldDeadline> deadlines = bookingRepository.findHoldDeadlines(PaymentStatus.PENDING, now);
+        deadlines.forEach(deadline -> wheel.schedule(deadline.bookingId(), toEpochMillis(deadline.expiresAt())));
+        log.info("Restored {} pending seat holds", deadlines.size());
+    }
+
+    /**
+     * Advances the timing wheel and expires every hold that became due.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.holds.tick-interval:PT1S}")
+    public void expireDueHolds() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += expiryBatchSize) {
+            expireBatch(due.subList(from, Math.min(from + expiryBatchSize, due.size())));
+        }
+    }
+
+    /**
+     * Backstop for holds this node is not tracking, such as holds created on
+     * another instance that went away. Uses the partial index on hold expiry.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.holds.backstop-interval:PT1M}")
+    public void expireAbandonedHolds() {
+        expireOverdue(LocalDateTime.now().minus(backstopGrace));
+    }
+
+    /**
+     * Expires every pending hold whose deadline is before the cutoff.
+     */
+    private void expireOverdue(LocalDateTime cutoff) {
+        List<Long> overdue;
+        do {
+            overdue = bookingRepository.findIdsWithHoldExpiredBefore(PaymentStatus.PENDING, cutoff,
+                    Limit.of(expiryBatchSize));
+            if (!overdue.isEmpty()) {
+                overdue.forEach(wheel::cancel);
+                expireBatch(overdue);
+            }
+        } while (overdue.size() == expiryBatchSize);
+    }
+
+    /**
+     * Fails the pending bookings of one batch and cancels their held tickets in
+     * a single transaction, then announces the released seats per show. The
+     * bookings are locked first, as confirmation does, and only the ones still
+     * pending are expired, so confirmed bookings keep their seats and bookings
+     * that were already final are not announced again.
+     */
+    private void expireBatch(List<Long> bookingIds) {
+        List<ShowSeat> released = transactionTemplate.execute(status -> {
+            List<Long> pending = bookingRepository.lockIds(bookingIds, PaymentStatus.PENDING.name());
+            if (pending.isEmpty()) {
+                return List.<ShowSeat>of();
+            }
+            List<ShowSeat> seats = ticketRepository.findShowSeats(pending, Ticket.TicketStatus.HELD,
+                    PaymentStatus.PENDING);
+            ticketRepository.updateStatusForBookings(pending, Ticket.TicketStatus.HELD,
+                    Ticket.TicketStatus.CANCELLED);
+            int expired = bookingRepository.updatePaymentStatus(pending, PaymentStatus.PENDING,
+                    PaymentStatus.FAILED);
+            holdsExpired.increment(expired);
+
+            publishReleased(seats);
+            return seats;
+        });
+        if (released != null && !released.isEmpty()) {
+            log.debug("Released {} held seats from {} expired bookings", released.size(), bookingIds.size());
+        }
+    }
+
+    /**
+     * Publishes one seat change per show for the released seats.
+     */
+    private void publishReleased(List<ShowSeat> seats) {
+        Map<ShowKey, List<SeatCoordinate>> byShow = seats.stream()
+                .collect(Collectors.groupingBy(seat -> new ShowKey(seat.eventId(), seat.showDate()),
+                        Collectors.mapping(ShowSeat::seat, Collectors.toList())));
+        byShow.forEach((show, coordinates) -> eventPublisher.publishEvent(new SeatsChangedEvent(show.eventId(),
+                show.showDate(), SeatsChangedEvent.SeatState.HELD, SeatsChangedEvent.SeatState.FREE, coordinates)));
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record ShowKey(Long eventId, LocalDateTime showDate) {
+    }
+}
@@ -0,0 +1,317 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.AvailabilityDto;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.repository.EventSectionRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one occupancy bitmap per show and section so seat availability checks
+ * are answered from memory. The partial unique index on tickets remains the
+ * final guard; this cache only has to avoid false "free" answers in the common
+ * case and is rebuilt whenever it is found stale.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatInventoryService {
+
+    static final Set<Ticket.TicketStatus> OCCUPYING_STATUSES = EnumSet.of(Ticket.TicketStatus.HELD,
+            Ticket.TicketStatus.BOOKED);
+
+    private final TicketRepository ticketRepository;
+    private final EventSectionRepository eventSectionRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ShowKey, ShowOccupancy> shows = new ConcurrentHashMap<>();
+    // One load per show at a time; concurrent misses wait for it
+    private final Map<ShowKey, CompletableFuture<ShowOccupancy>> loading = new ConcurrentHashMap<>();
+    // Set on every change so a load that ran across a change is not cached
+    private final Map<ShowKey, Long> generations = new ConcurrentHashMap<>();
+    // Seeded from the clock so versions keep increasing across restarts
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    @Value("${app.booking.seat-inventory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.seat-inventory.refresh-after:PT5M}")
+    private Duration refreshAfter;
+
+    @Value("${app.booking.seat-inventory.expire-after-access:PT30M}")
+    private Duration expireAfterAccess;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter rebuilds;
+    private Counter invalidations;
+
+    /**
+     * Registers the inventory meters once the registry is available.
+     */
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("seat.inventory.lookups").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("seat.inventory.lookups").tag("result", "miss").register(meterRegistry);
+        rebuilds = Counter.builder("seat.inventory.rebuilds").register(meterRegistry);
+        invalidations = Counter.builder("seat.inventory.invalidations").register(meterRegistry);
+        meterRegistry.gauge("seat.inventory.shows", shows, Map::size);
+    }
+
+    /**
+     * Reports whether booking validation should consult the in-memory inventory.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the requested seats that are already occupied for the show,
+     * loading the show bitmap from the tickets table on first use.
+     */
+    public List<SeatCoordinate> findOccupied(Long eventId, LocalDateTime showDate, Collection<SeatCoordinate> seats) {
+        ShowOccupancy occupancy = occupancy(eventId, showDate,
+                seats.stream().map(SeatCoordinate::sectionId).collect(Collectors.toSet()));
+        List<SeatCoordinate> occupied = new ArrayList<>();
+        for (SeatCoordinate seat : seats) {
+            SeatBitmap bitmap = occupancy.sections.get(seat.sectionId());
+            if (bitmap != null && bitmap.isOccupied(seat.row(), seat.col())) {
+                occupied.add(seat);
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Picks the best free seats for a party among the given sections, which are
+     * listed in order of preference. Uses the cached bitmaps when the inventory
+     * is enabled and a one-off snapshot otherwise.
+     */
+    public List<SeatCoordinate> allocate(Long eventId, LocalDateTime showDate, List<Long> sectionIds, int quantity) {
+        ShowOccupancy occupancy = enabled ? occupancy(eventId, showDate, sectionIds) : load(eventId, showDate);
+        Map<Long, SeatBitmap> candidates = new LinkedHashMap<>();
+        for (Long sectionId : sectionIds) {
+            SeatBitmap bitmap = occupancy.sections.get(sectionId);
+            if (bitmap != null) {
+                candidates.put(sectionId, bitmap);
+            }
+        }
+        return SeatAllocator.allocate(candidates, quantity);
+    }
+
+    /**
+     * Returns every section of the show as a compact bitset together with the
+     * show's occupancy version, which increases whenever the seats change.
+     * Without the inventory each call takes a fresh snapshot and a new version.
+     */
+    public AvailabilityDto.ShowAvailability getAvailability(Long eventId, LocalDateTime showDate) {
+        ShowOccupancy occupancy = enabled ? occupancy(eventId, showDate, List.of()) : load(eventId, showDate);
+        long version = occupancy.version;
+        List<AvailabilityDto.SectionAvailability> sections = occupancy.sections.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> AvailabilityDto.SectionAvailability.builder()
+                        .sectionId(entry.getKey())
+                        .rows(entry.getValue().rows())
+                        .cols(entry.getValue().cols())
+                        .occupied(entry.getValue().occupiedCount())
+                        .bitset(Base64.getEncoder().encodeToString(entry.getValue().toByteArray()))
+                        .build())
+                .toList();
+        return AvailabilityDto.ShowAvailability.builder()
+                .eventId(eventId)
+                .showDate(showDate)
+                .version(version)
+                .sections(sections)
+                .build();
+    }
+
+    /**
+     * Returns the share of the show's seats that are held or booked, from the
+     * cached bitmaps when the inventory is enabled.
+     */
+    public double occupancyRatio(Long eventId, LocalDateTime showDate) {
+        ShowOccupancy occupancy = enabled ? occupancy(eventId, showDate, List.of()) : load(eventId, showDate);
+        long capacity = 0;
+        long occupied = 0;
+        for (SeatBitmap bitmap : occupancy.sections.values()) {
+            capacity += (long) bitmap.rows() * bitmap.cols();
+            occupied += bitmap.occupiedCount();
+        }
+        return capacity == 0 ? 0 : (double) occupied / capacity;
+    }
+
+    /**
+     * Returns the occupancy version of a cached show that is still within its
+     * refresh window, or null when the next read would load it.
+     */
+    public Long getVersion(Long eventId, LocalDateTime showDate) {
+        ShowOccupancy occupancy = enabled ? shows.get(new ShowKey(eventId, showDate)) : null;
+        if (occupancy == null || System.nanoTime() - occupancy.loadedAt >= refreshAfter.toNanos()) {
+            return null;
+        }
+        occupancy.lastAccess = System.nanoTime();
+        return occupancy.version;
+    }
+
+    /**
+     * Drops the cached bitmap for a show so the next lookup rebuilds it from the
+     * database, for example after the unique seat index rejected a booking.
+     */
+    public void invalidate(Long eventId, LocalDateTime showDate) {
+        ShowKey key = new ShowKey(eventId, showDate);
+        generations.put(key, versions.incrementAndGet());
+        if (shows.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Applies committed seat changes to the cached bitmap of the affected show.
+     * Shows that are not cached are left alone; they load fresh on next use.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        ShowKey key = new ShowKey(change.eventId(), change.showDate());
+        // Before reading the cache, so a load either sees the new generation or is cached in time to get the change
+        generations.put(key, versions.incrementAndGet());
+        ShowOccupancy occupancy = shows.get(key);
+        if (occupancy == null) {
+            return;
+        }
+        boolean occupied = change.current() != SeatsChangedEvent.SeatState.FREE;
+        for (SeatCoordinate seat : change.seats()) {
+            SeatBitmap bitmap = occupancy.sections.get(seat.sectionId());
+            if (bitmap == null) {
+                continue;
+            }
+            if (occupied) {
+                bitmap.set(seat.row(), seat.col());
+            } else {
+                bitmap.clear(seat.row(), seat.col());
+            }
+        }
+        occupancy.version = versions.incrementAndGet();
+    }
+
+    /**
+     * Evicts shows that have not been probed recently to keep memory bounded,
+     * along with the generations of shows that are neither cached nor loading.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.seat-inventory.eviction-interval:PT1M}")
+    public void evictIdleShows() {
+        long cutoff = System.nanoTime() - expireAfterAccess.toNanos();
+        shows.entrySet().removeIf(entry -> entry.getValue().lastAccess - cutoff < 0);
+        // Removes an entry only if its value is unchanged, so a generation set meanwhile stays
+        generations.entrySet().removeIf(entry -> !shows.containsKey(entry.getKey())
+                && !loading.containsKey(entry.getKey()));
+    }
+
+    /**
+     * Returns the cached occupancy for a show, rebuilding it when it is missing,
+     * older than the refresh window, or lacks one of the requested sections.
+     * Concurrent misses for a show share one load, and a load that overlapped
+     * a seat change is returned to its callers but not cached.
+     */
+    private ShowOccupancy occupancy(Long eventId, LocalDateTime showDate, Collection<Long> sectionIds) {
+        ShowKey key = new ShowKey(eventId, showDate);
+        ShowOccupancy occupancy = shows.get(key);
+        long now = System.nanoTime();
+        if (occupancy != null && now - occupancy.loadedAt < refreshAfter.toNanos()
+                && occupancy.sections.keySet().containsAll(sectionIds)) {
+            hits.increment();
+            occupancy.lastAccess = now;
+            return occupancy;
+        }
+
+        misses.increment();
+        CompletableFuture<ShowOccupancy> load = new CompletableFuture<>();
+        CompletableFuture<ShowOccupancy> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Long generation = generations.get(key);
+            ShowOccupancy rebuilt = load(eventId, showDate);
+            shows.put(key, rebuilt);
+            if (!Objects.equals(generation, generations.get(key))) {
+                shows.remove(key, rebuilt);
+            }
+            load.complete(rebuilt);
+            return rebuilt;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Rebuilds every section bitmap of a show from the event sections and a
+     * single seat projection query.
+     */
+    private ShowOccupancy load(Long eventId, LocalDateTime showDate) {
+        rebuilds.increment();
+        Map<Long, SeatBitmap> sections = new HashMap<>();
+        for (EventSection section : eventSectionRepository.findByEvent_Id(eventId)) {
+            sections.put(section.getId(), new SeatBitmap(section.getRows(), section.getCols()));
+        }
+        for (SeatCoordinate seat : ticketRepository.findSeatCoordinates(eventId, showDate, OCCUPYING_STATUSES)) {
+            SeatBitmap bitmap = sections.get(seat.sectionId());
+            if (bitmap != null) {
+                bitmap.set(seat.row(), seat.col());
+            }
+        }
+        log.debug("Rebuilt seat inventory for event {} at {} ({} sections)", eventId, showDate, sections.size());
+        return new ShowOccupancy(sections, System.nanoTime(), versions.incrementAndGet());
+    }
+
+    private record ShowKey(Long eventId, LocalDateTime showDate) {
+    }
+
+    private static final class ShowOccupancy {
+        private final Map<Long, SeatBitmap> sections;
+        private final long loadedAt;
+        private volatile long lastAccess;
+        private volatile long version;
+
+        private ShowOccupancy(Map<Long, SeatBitmap> sections, long loadedAt, long version) {
+            this.sections = sections;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+            this.version = version;
+        }
+    }
+}
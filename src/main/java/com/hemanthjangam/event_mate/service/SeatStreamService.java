@@ -0,0 +1,326 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hemanthjangam.event_mate.dto.AvailabilityDto;
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.exception.AdmissionRequiredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes live seat changes to seat-map clients over Server-Sent Events. Each
+ * show has one topic that collects committed seat changes; a periodic flush
+ * coalesces them into one frame per show, serialises it once and hands the same
+ * bytes to every subscriber. Subscribers drain their own bounded queues on
+ * virtual threads, and a subscriber that falls too far behind is disconnected
+ * so it can reconnect and start again from a fresh snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStreamService {
+
+    private final SeatInventoryService seatInventoryService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ShowKey, ShowTopic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.booking.seat-stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.booking.seat-stream.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${app.booking.seat-stream.max-pending-frames:64}")
+    private int maxPendingFrames;
+
+    private Counter framesPublished;
+    private Counter subscribersShed;
+
+    /**
+     * Registers the stream meters.
+     */
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("seat.stream.subscribers", subscriberCount);
+        meterRegistry.gauge("seat.stream.topics", topics, Map::size);
+        framesPublished = Counter.builder("seat.stream.frames").register(meterRegistry);
+        subscribersShed = Counter.builder("seat.stream.shed").register(meterRegistry);
+    }
+
+    /**
+     * Closes every open stream on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        topics.values().forEach(topic -> topic.snapshot().forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens a stream for a show. The first event is a full availability
+     * snapshot; every later event carries only the seats that changed.
+     */
+    public SseEmitter subscribe(Long eventId, LocalDateTime showDate) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new AdmissionRequiredException(
+                    "Too many live seat map connections. Please use the availability endpoint instead.");
+        }
+        ShowKey key = new ShowKey(eventId, showDate);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(key, emitter);
+        emitter.onCompletion(() -> unsubscribe(key, subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(key, subscriber));
+        join(key, subscriber);
+
+        // Frames flushed while the snapshot is built are held back and sent after it
+        try {
+            AvailabilityDto.ShowAvailability snapshot = seatInventoryService.getAvailability(eventId, showDate);
+            subscriber.start(SseEmitter.event()
+                    .name("snapshot")
+                    .id(Long.toString(snapshot.getVersion()))
+                    .data(objectMapper.writeValueAsString(snapshot), MediaType.APPLICATION_JSON)
+                    .build());
+        } catch (JsonProcessingException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Records committed seat changes for shows that have subscribers. Later
+     * changes to the same seat replace earlier ones until the next flush.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        ShowTopic topic = topics.get(new ShowKey(change.eventId(), change.showDate()));
+        if (topic == null) {
+            return;
+        }
+        synchronized (topic) {
+            for (SeatCoordinate seat : change.seats()) {
+                topic.pending.put(seat, change.current());
+            }
+        }
+    }
+
+    /**
+     * Turns the pending changes of every show into one frame and fans it out.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.seat-stream.flush-interval:PT0.2S}")
+    public void flush() {
+        topics.forEach((key, topic) -> {
+            Map<SeatCoordinate, SeatsChangedEvent.SeatState> changes;
+            synchronized (topic) {
+                if (topic.pending.isEmpty()) {
+                    return;
+                }
+                changes = topic.pending;
+                topic.pending = new LinkedHashMap<>();
+            }
+            try {
+                publish(key, topic, frame(key, changes));
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialise seat changes for event {} at {}", key.eventId(), key.showDate(), e);
+            }
+        });
+    }
+
+    /**
+     * Sends a comment line to every subscriber so dead connections surface as
+     * write errors and proxies keep idle streams open.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.seat-stream.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("keepalive").build();
+        topics.forEach((key, topic) -> publish(key, topic, ping));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(ShowKey key,
+            Map<SeatCoordinate, SeatsChangedEvent.SeatState> changes) throws JsonProcessingException {
+        List<AvailabilityDto.SeatChange> seats = new ArrayList<>(changes.size());
+        changes.forEach((seat, state) -> seats.add(AvailabilityDto.SeatChange.builder()
+                .sectionId(seat.sectionId())
+                .row(seat.row())
+                .col(seat.col())
+                .state(state.name())
+                .build()));
+        Long version = seatInventoryService.getVersion(key.eventId(), key.showDate());
+        AvailabilityDto.SeatChangeFrame frame = AvailabilityDto.SeatChangeFrame.builder()
+                .eventId(key.eventId())
+                .showDate(key.showDate())
+                .version(version)
+                .seats(seats)
+                .build();
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name("seats")
+                .data(objectMapper.writeValueAsString(frame), MediaType.APPLICATION_JSON);
+        if (version != null) {
+            event.id(Long.toString(version));
+        }
+        framesPublished.increment();
+        return event.build();
+    }
+
+    /**
+     * Queues one prepared frame on every subscriber of a show, disconnecting
+     * subscribers whose queue is full.
+     */
+    private void publish(ShowKey key, ShowTopic topic, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        for (Subscriber subscriber : topic.snapshot()) {
+            if (!subscriber.offer(frame)) {
+                subscribersShed.increment();
+                subscriber.emitter.complete();
+                unsubscribe(key, subscriber);
+            }
+        }
+    }
+
+    private void join(ShowKey key, Subscriber subscriber) {
+        while (true) {
+            ShowTopic topic = topics.computeIfAbsent(key, ignored -> new ShowTopic());
+            synchronized (topic) {
+                if (!topic.closed) {
+                    topic.subscribers.add(subscriber);
+                    return;
+                }
+            }
+            topics.remove(key, topic);
+        }
+    }
+
+    private void unsubscribe(ShowKey key, Subscriber subscriber) {
+        ShowTopic topic = topics.get(key);
+        if (topic == null) {
+            return;
+        }
+        synchronized (topic) {
+            if (!topic.subscribers.remove(subscriber)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            subscriber.close();
+            if (topic.subscribers.isEmpty()) {
+                topic.closed = true;
+                topics.remove(key, topic);
+            }
+        }
+    }
+
+    private record ShowKey(Long eventId, LocalDateTime showDate) {
+    }
+
+    private static final class ShowTopic {
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private Map<SeatCoordinate, SeatsChangedEvent.SeatState> pending = new LinkedHashMap<>();
+        private boolean closed;
+
+        private synchronized List<Subscriber> snapshot() {
+            return List.copyOf(subscribers);
+        }
+    }
+
+    /**
+     * One open stream. Frames wait in a bounded queue until the snapshot is in
+     * place and are then written by at most one sender task at a time.
+     */
+    private final class Subscriber {
+        private final ShowKey key;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean started;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(ShowKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        private synchronized void start(Set<ResponseBodyEmitter.DataWithMediaType> snapshot) {
+            queue.addFirst(snapshot);
+            started = true;
+            scheduleDrain();
+        }
+
+        /**
+         * Queues a frame, or returns false when the subscriber is too far
+         * behind and should be dropped.
+         */
+        private synchronized boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed) {
+                return true;
+            }
+            if (queue.size() >= maxPendingFrames) {
+                close();
+                return false;
+            }
+            queue.addLast(frame);
+            scheduleDrain();
+            return true;
+        }
+
+        private synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        private void scheduleDrain() {
+            if (started && !draining && !closed && !queue.isEmpty()) {
+                draining = true;
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = closed ? null : queue.pollFirst();
+                    if (frame == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(key, this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
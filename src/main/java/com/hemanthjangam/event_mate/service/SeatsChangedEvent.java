@@ -0,0 +1,30 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by the booking flow whenever seats of one show change state.
+ * Listeners receive it after the surrounding transaction commits. Prices, when
+ * known, line up with the seats and carry each ticket's sale price.
+ */
+public record SeatsChangedEvent(Long eventId, LocalDateTime showDate, SeatState previous, SeatState current,
+        List<SeatCoordinate> seats, List<BigDecimal> prices) {
+
+    /**
+     * Change without prices, for moves that never enter or leave the booked state.
+     */
+    public SeatsChangedEvent(Long eventId, LocalDateTime showDate, SeatState previous, SeatState current,
+            List<SeatCoordinate> seats) {
+        this(eventId, showDate, previous, current, seats, null);
+    }
+
+    public enum SeatState {
+        FREE,
+        HELD,
+        BOOKED
+    }
+}
@@ -4,18 +4,29 @@ import com.hemanthjangam.event_mate.exception.BadRequestException;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
+import com.stripe.model.Refund;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.RefundCreateParams;
 import com.stripe.param.checkout.SessionCreateParams;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Service
 public class StripeService {
 
+    // Stripe rejects checkout sessions that expire less than 30 minutes out
+    public static final Duration MIN_SESSION_LIFETIME = Duration.ofMinutes(30);
+    private static final Duration SESSION_EXPIRY_SLACK = Duration.ofMinutes(1);
+
     @Value("${stripe.secret.key}")
     private String secretKey;
 
@@ -45,13 +56,16 @@ public class StripeService {
     }
 
     /**
-     * Creates a hosted checkout session for a pending booking.
+     * Creates a hosted checkout session for a pending booking. The session
+     * expires with the seat hold, or at Stripe's earliest allowed expiry when
+     * the hold ends sooner.
      */
     public Session createCheckoutSession(Long bookingId, BigDecimal amount, String currency, String successUrl,
-            String cancelUrl) throws StripeException {
+            String cancelUrl, LocalDateTime holdExpiresAt) throws StripeException {
         validateAmount(amount);
         SessionCreateParams params = SessionCreateParams.builder()
                 .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setExpiresAt(toSessionExpiry(holdExpiresAt))
                 .setSuccessUrl(buildSuccessUrl(successUrl, bookingId))
                 .setCancelUrl(cancelUrl)
                 .addLineItem(
@@ -84,6 +98,21 @@ public class StripeService {
         return Session.retrieve(sessionId);
     }
 
+    /**
+     * Refunds a captured payment. The idempotency key makes retries of the same
+     * refund safe.
+     */
+    public Refund createRefund(String paymentIntentId, BigDecimal amount, String idempotencyKey)
+            throws StripeException {
+        validateAmount(amount);
+        RefundCreateParams params = RefundCreateParams.builder()
+                .setPaymentIntent(paymentIntentId)
+                .setAmount(toStripeAmount(amount))
+                .build();
+
+        return Refund.create(params, RequestOptions.builder().setIdempotencyKey(idempotencyKey).build());
+    }
+
     /**
      * Converts a major-currency amount into the minor unit expected by Stripe.
      */
@@ -91,6 +120,17 @@ public class StripeService {
         return amount.multiply(new BigDecimal(100)).longValueExact();
     }
 
+    /**
+     * Converts the hold deadline into the session expiry in epoch seconds,
+     * moved out to the earliest expiry Stripe accepts when needed.
+     */
+    private long toSessionExpiry(LocalDateTime holdExpiresAt) {
+        Instant earliest = Instant.now().plus(MIN_SESSION_LIFETIME).plus(SESSION_EXPIRY_SLACK);
+        Instant expiresAt = holdExpiresAt == null ? earliest
+                : holdExpiresAt.atZone(ZoneId.systemDefault()).toInstant();
+        return (expiresAt.isBefore(earliest) ? earliest : expiresAt).getEpochSecond();
+    }
+
     /**
      * Rejects invalid or missing payment amounts before contacting Stripe.
      */
@@ -0,0 +1,155 @@
+package com.hemanthjangam.event_mate.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel keyed by numeric ids. Scheduling, cancelling and
+ * expiring are O(1) per entry (plus one cascade per wheel level), so the cost
+ * of a tick does not grow with the number of outstanding timers.
+ */
+class TimingWheel {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int bitsPerLevel;
+    private final int slotMask;
+    private final List<List<Set<Entry>>> levels = new ArrayList<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final List<Long> overdue = new ArrayList<>();
+
+    private long currentTick;
+
+    /**
+     * @param tickMillis   resolution of the wheel
+     * @param bitsPerLevel log2 of the slot count per level
+     * @param levelCount   number of cascading levels
+     * @param startMillis  wall-clock time that maps to tick zero
+     */
+    TimingWheel(long tickMillis, int bitsPerLevel, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.bitsPerLevel = bitsPerLevel;
+        this.slotMask = (1 << bitsPerLevel) - 1;
+        for (int level = 0; level < levelCount; level++) {
+            List<Set<Entry>> slots = new ArrayList<>(slotMask + 1);
+            for (int slot = 0; slot <= slotMask; slot++) {
+                slots.add(new HashSet<>());
+            }
+            levels.add(slots);
+        }
+    }
+
+    /**
+     * Schedules (or reschedules) an id to expire at the given wall-clock time.
+     */
+    synchronized void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        long deadlineTick = Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis);
+        Entry entry = new Entry(id, deadlineTick);
+        entries.put(id, entry);
+        place(entry);
+    }
+
+    /**
+     * Removes a scheduled id. Returns false when it was not scheduled.
+     */
+    synchronized boolean cancel(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.bucket != null) {
+            entry.bucket.remove(entry);
+        } else {
+            overdue.remove(Long.valueOf(id));
+        }
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given wall-clock time and returns every id whose
+     * deadline has passed.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Set<Entry> bucket = levels.get(0).get((int) (currentTick & slotMask));
+            for (Entry entry : bucket) {
+                entries.remove(entry.id);
+                expired.add(entry.id);
+            }
+            bucket.clear();
+        }
+        for (Long id : overdue) {
+            entries.remove(id);
+            expired.add(id);
+        }
+        overdue.clear();
+        return expired;
+    }
+
+    /**
+     * Returns the number of ids still waiting to expire.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves entries from higher levels down whenever the lower level wraps.
+     */
+    private void cascade() {
+        for (int level = levels.size() - 1; level >= 1; level--) {
+            long levelMask = (1L << (bitsPerLevel * level)) - 1;
+            if ((currentTick & levelMask) != 0) {
+                continue;
+            }
+            Set<Entry> bucket = levels.get(level).get(slotFor(currentTick, level));
+            List<Entry> moving = new ArrayList<>(bucket);
+            bucket.clear();
+            moving.forEach(this::place);
+        }
+    }
+
+    /**
+     * Puts an entry in the lowest level whose span covers its remaining ticks.
+     */
+    private void place(Entry entry) {
+        long remaining = entry.deadlineTick - currentTick;
+        if (remaining <= 0) {
+            entry.bucket = null;
+            overdue.add(entry.id);
+            return;
+        }
+        int level = 0;
+        while (level < levels.size() - 1 && remaining >= (1L << (bitsPerLevel * (level + 1)))) {
+            level++;
+        }
+        Set<Entry> bucket = levels.get(level).get(slotFor(entry.deadlineTick, level));
+        entry.bucket = bucket;
+        bucket.add(entry);
+    }
+
+    private int slotFor(long tick, int level) {
+        return (int) ((tick >>> (bitsPerLevel * level)) & slotMask);
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final long deadlineTick;
+        private Set<Entry> bucket;
+
+        private Entry(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.config.JwtService;
+import com.hemanthjangam.event_mate.dto.WaitingRoomDto;
+import com.hemanthjangam.event_mate.exception.AdmissionRequiredException;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for high-demand events. Clients join a per-event queue and
+ * receive a signed position token; a token bucket admits positions at a fixed
+ * rate and admitted clients exchange their token for a short-lived admission
+ * pass. Queue state lives in memory and both tokens are verified by signature,
+ * so polling the queue never reaches the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomService {
+
+    static final String QUEUE_SCOPE = "waiting-room";
+    static final String ADMISSION_SCOPE = "admission";
+    private static final String EVENT_CLAIM = "eventId";
+    private static final String POSITION_CLAIM = "position";
+
+    private final EventRepository eventRepository;
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+    private volatile Set<Long> highDemandEvents = Set.of();
+
+    @Value("${app.waiting-room.admission-rate:20}")
+    private double admissionRate;
+
+    @Value("${app.waiting-room.burst:50}")
+    private double burst;
+
+    @Value("${app.waiting-room.max-queue-length:50000}")
+    private int maxQueueLength;
+
+    @Value("${app.waiting-room.tick-interval:PT0.1S}")
+    private Duration tickInterval;
+
+    @Value("${app.waiting-room.queue-token-ttl:PT2H}")
+    private Duration queueTokenTtl;
+
+    @Value("${app.waiting-room.pass-ttl:PT15M}")
+    private Duration passTtl;
+
+    private Counter admissions;
+    private Timer waitTimes;
+
+    /**
+     * Registers the admission, queue length and wait time meters.
+     */
+    @PostConstruct
+    public void init() {
+        admissions = Counter.builder("waiting.room.admissions").register(meterRegistry);
+        waitTimes = Timer.builder("waiting.room.wait")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("waiting.room.queue.length", rooms,
+                activeRooms -> activeRooms.values().stream().mapToLong(Room::queued).sum());
+    }
+
+    /**
+     * Loads the ids of the events that are flagged as high demand.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHighDemandEvents() {
+        Set<Long> flagged = Set.copyOf(eventRepository.findHighDemandEventIds());
+        highDemandEvents = flagged;
+        rooms.keySet().retainAll(flagged);
+        log.debug("Waiting room active for {} events", flagged.size());
+    }
+
+    /**
+     * Refreshes the high-demand flags after an event was created, edited or
+     * removed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogueChanged(CatalogueChangedEvent change) {
+        loadHighDemandEvents();
+    }
+
+    /**
+     * Reports whether booking traffic for the event must pass the waiting room.
+     */
+    public boolean isHighDemand(Long eventId) {
+        return eventId != null && highDemandEvents.contains(eventId);
+    }
+
+    /**
+     * Places the current user at the back of the event's queue. Events that are
+     * not high demand answer immediately without a queue token.
+     */
+    public WaitingRoomDto.TicketResponse join(Long eventId) {
+        if (!isHighDemand(eventId)) {
+            return WaitingRoomDto.TicketResponse.builder().eventId(eventId).queued(false).build();
+        }
+        Room room = rooms.computeIfAbsent(eventId, id -> new Room(maxQueueLength));
+        long position = room.enqueue(System.currentTimeMillis(), maxQueueLength);
+        if (position < 0) {
+            throw new AdmissionRequiredException("The waiting room for this event is full. Please try again shortly.");
+        }
+        String queueToken = jwtService.generateScopedToken(currentSubject(), QUEUE_SCOPE,
+                Map.of(EVENT_CLAIM, eventId, POSITION_CLAIM, position), queueTokenTtl.toMillis());
+        return WaitingRoomDto.TicketResponse.builder()
+                .eventId(eventId)
+                .queued(true)
+                .position(position)
+                .queueToken(queueToken)
+                .build();
+    }
+
+    /**
+     * Returns the queue position behind a queue token and, once the position
+     * has been admitted, a signed admission pass for the event.
+     */
+    public WaitingRoomDto.StatusResponse status(String queueToken) {
+        Claims claims = parse(queueToken, QUEUE_SCOPE);
+        if (claims == null) {
+            throw new BadRequestException("Queue token is invalid or expired.");
+        }
+        Long eventId = claims.get(EVENT_CLAIM, Number.class).longValue();
+        long position = claims.get(POSITION_CLAIM, Number.class).longValue();
+        if (!isHighDemand(eventId)) {
+            return WaitingRoomDto.StatusResponse.builder().eventId(eventId).admitted(true).build();
+        }
+
+        Room room = rooms.computeIfAbsent(eventId, id -> new Room(maxQueueLength));
+        room.restore(position);
+        long admitted = room.admitted;
+        if (position <= admitted) {
+            String pass = jwtService.generateScopedToken(claims.getSubject(), ADMISSION_SCOPE,
+                    Map.of(EVENT_CLAIM, eventId), passTtl.toMillis());
+            return WaitingRoomDto.StatusResponse.builder()
+                    .eventId(eventId)
+                    .admitted(true)
+                    .position(position)
+                    .admissionPass(pass)
+                    .build();
+        }
+        long ahead = position - admitted - 1;
+        return WaitingRoomDto.StatusResponse.builder()
+                .eventId(eventId)
+                .admitted(false)
+                .position(position)
+                .peopleAhead(ahead)
+                .estimatedWaitSeconds((long) Math.ceil((ahead + 1) / admissionRate))
+                .build();
+    }
+
+    /**
+     * Rejects booking traffic for a high-demand event unless it carries a valid
+     * admission pass for that event issued to the current user.
+     */
+    public void requireAdmission(Long eventId, String admissionPass) {
+        if (!isHighDemand(eventId)) {
+            return;
+        }
+        if (admissionPass == null || admissionPass.isBlank()) {
+            throw new AdmissionRequiredException(
+                    "This event is in high demand. Join the waiting room to get an admission pass.");
+        }
+        Claims claims = parse(admissionPass, ADMISSION_SCOPE);
+        if (claims == null || claims.get(EVENT_CLAIM, Number.class).longValue() != eventId) {
+            throw new AdmissionRequiredException("Admission pass is invalid or expired. Please rejoin the waiting room.");
+        }
+        String subject = currentSubject();
+        if (subject != null && !subject.equals(claims.getSubject())) {
+            throw new AdmissionRequiredException("Admission pass was issued to another user.");
+        }
+    }
+
+    /**
+     * Refills every room's token bucket and admits as many queued positions as
+     * there are whole tokens.
+     */
+    @Scheduled(fixedRateString = "${app.waiting-room.tick-interval:PT0.1S}")
+    public void admit() {
+        double refill = admissionRate * tickInterval.toMillis() / 1000.0;
+        long now = System.currentTimeMillis();
+        rooms.values().forEach(room -> admissions.increment(room.admit(refill, burst, now, waitTimes)));
+    }
+
+    /**
+     * Verifies a scoped token, returning null instead of throwing when it is
+     * malformed, expired or meant for another scope.
+     */
+    private Claims parse(String token, String scope) {
+        try {
+            return jwtService.parseScopedToken(token, scope);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Queue of one event. Positions are consecutive numbers; everything up to
+     * {@code admitted} may enter. Join times sit in a ring buffer indexed by
+     * position so wait times can be recorded when a position is admitted.
+     */
+    private static final class Room {
+        private final long[] joinedAt;
+        private volatile long issued;
+        private volatile long admitted;
+        private double tokens;
+
+        private Room(int capacity) {
+            this.joinedAt = new long[capacity];
+        }
+
+        private synchronized long enqueue(long nowMillis, int maxQueueLength) {
+            if (issued - admitted >= maxQueueLength) {
+                return -1;
+            }
+            issued++;
+            joinedAt[slot(issued)] = nowMillis;
+            return issued;
+        }
+
+        /**
+         * Keeps positions from tokens issued before a restart in order; their
+         * join times are unknown so they are admitted without a wait sample.
+         */
+        private synchronized void restore(long position) {
+            if (position > issued) {
+                issued = position;
+            }
+        }
+
+        private synchronized long admit(double refill, double burst, long nowMillis, Timer waitTimes) {
+            tokens = Math.min(burst, tokens + refill);
+            long count = Math.min((long) tokens, issued - admitted);
+            for (long position = admitted + 1; position <= admitted + count; position++) {
+                int slot = slot(position);
+                if (joinedAt[slot] > 0) {
+                    waitTimes.record(nowMillis - joinedAt[slot], TimeUnit.MILLISECONDS);
+                    joinedAt[slot] = 0;
+                }
+            }
+            admitted += count;
+            tokens -= count;
+            return count;
+        }
+
+        private long queued() {
+            return issued - admitted;
+        }
+
+        private int slot(long position) {
+            return (int) (position % joinedAt.length);
+        }
+    }
+}
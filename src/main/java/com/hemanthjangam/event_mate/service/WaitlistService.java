@@ -0,0 +1,425 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.dto.SeatCoordinate;
+import com.hemanthjangam.event_mate.dto.WaitlistDto;
+import com.hemanthjangam.event_mate.dto.WaitlistSlot;
+import com.hemanthjangam.event_mate.entity.Booking;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.User;
+import com.hemanthjangam.event_mate.entity.WaitlistEntry;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.exception.ConflictException;
+import com.hemanthjangam.event_mate.exception.ResourceNotFoundException;
+import com.hemanthjangam.event_mate.exception.SeatUnavailableException;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.EventSectionRepository;
+import com.hemanthjangam.event_mate.repository.ShowCancellationRepository;
+import com.hemanthjangam.event_mate.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * First-come, first-served waitlists per show and section. Waiting entries
+ * live in in-memory queues backed by the {@code waitlist_entries} table. When
+ * committed seat changes free seats in a section with a queue, the freed seats
+ * are handed to the head of the queue as a pending booking whose hold is the
+ * claim window; an offer that is not paid in time expires like any other hold
+ * and its seats flow on to the next person in line. Matching looks only at
+ * the freed seats and the queue head, so its cost is constant per freed seat.
+ * An offer is marked claimed or expired once the seats of its show leave the
+ * held state and its booking turns out paid or released.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final EventRepository eventRepository;
+    private final EventSectionRepository eventSectionRepository;
+    private final ShowCancellationRepository showCancellationRepository;
+    private final BookingService bookingService;
+    private final SeatInventoryService seatInventoryService;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<SectionKey, SectionQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    // Shows with offers whose outcome is not recorded yet
+    private final Set<ShowKey> openOffers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService matchers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${app.waitlist.claim-window:PT35M}")
+    private Duration claimWindow;
+
+    @Value("${app.waitlist.max-quantity:10}")
+    private int maxQuantity;
+
+    private Counter offersMade;
+    private Counter offersMissed;
+
+    /**
+     * Registers the waitlist meters. Offers are paid through Stripe checkout
+     * like any other hold, so the claim window must outlive the shortest
+     * checkout session; otherwise a late payment would be taken and refunded.
+     */
+    @PostConstruct
+    public void init() {
+        if (claimWindow.compareTo(StripeService.MIN_SESSION_LIFETIME) < 0) {
+            throw new IllegalStateException("app.waitlist.claim-window must be at least "
+                    + StripeService.MIN_SESSION_LIFETIME + " to cover a Stripe checkout session.");
+        }
+        meterRegistry.gauge("waitlist.waiting", waiting);
+        meterRegistry.gauge("waitlist.queues", queues, Map::size);
+        offersMade = Counter.builder("waitlist.offers").tag("result", "offered").register(meterRegistry);
+        offersMissed = Counter.builder("waitlist.offers").tag("result", "seats.taken").register(meterRegistry);
+    }
+
+    /**
+     * Stops the matchers on shutdown; waiting entries are restored on the
+     * next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        matchers.shutdown();
+    }
+
+    /**
+     * Rebuilds the queues from the waiting entries, in join order.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreQueues() {
+        List<WaitlistSlot> slots = waitlistEntryRepository.findSlotsByStatus(WaitlistEntry.Status.WAITING);
+        slots.forEach(this::enqueue);
+        for (Object[] show : waitlistEntryRepository.findShowsByStatus(WaitlistEntry.Status.OFFERED)) {
+            openOffers.add(new ShowKey((Long) show[0], (LocalDateTime) show[1]));
+        }
+        log.info("Restored {} waitlist entries and open offers for {} shows", slots.size(), openOffers.size());
+    }
+
+    /**
+     * Puts the current user at the back of the queue for a section that cannot
+     * seat the requested party right now.
+     */
+    public WaitlistDto.EntryResponse join(WaitlistDto.JoinRequest request) {
+        if (request.getQuantity() < 1 || request.getQuantity() > maxQuantity) {
+            throw new BadRequestException("Quantity must be between 1 and " + maxQuantity + ".");
+        }
+        if (request.getShowDate() == null || !request.getShowDate().isAfter(LocalDateTime.now())) {
+            throw new BadRequestException("An upcoming show date is required.");
+        }
+        WaitlistEntry entry = transactionTemplate.execute(status -> {
+            User user = bookingService.getCurrentUser();
+            Event event = eventRepository.findById(java.util.Objects.requireNonNull(request.getEventId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + request.getEventId()));
+            EventSection section = eventSectionRepository.findById(java.util.Objects.requireNonNull(request.getSectionId()))
+                    .filter(candidate -> candidate.getEvent().getId().equals(event.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Section not found for this event: " + request.getSectionId()));
+            bookingService.validateShow(event, request.getShowDate());
+
+            if (!seatInventoryService.allocate(event.getId(), request.getShowDate(), List.of(section.getId()),
+                    request.getQuantity()).isEmpty()) {
+                throw new BadRequestException("Seats are still available in this section. Please book them directly.");
+            }
+            if (waitlistEntryRepository.existsByUser_IdAndEvent_IdAndShowDateAndSection_IdAndStatus(user.getId(),
+                    event.getId(), request.getShowDate(), section.getId(), WaitlistEntry.Status.WAITING)) {
+                throw new ConflictException("You are already on the waitlist for this section.");
+            }
+            return waitlistEntryRepository.save(WaitlistEntry.builder()
+                    .user(user)
+                    .event(event)
+                    .showDate(request.getShowDate())
+                    .section(section)
+                    .quantity(request.getQuantity())
+                    .status(WaitlistEntry.Status.WAITING)
+                    .joinedAt(LocalDateTime.now())
+                    .build());
+        });
+        enqueue(new WaitlistSlot(entry.getId(), request.getEventId(), request.getShowDate(), request.getSectionId(),
+                entry.getUser().getId(), entry.getQuantity()));
+        return mapToResponse(entry);
+    }
+
+    /**
+     * Removes one of the current user's waiting entries from its queue.
+     */
+    public void leave(Long entryId) {
+        WaitlistEntry entry = transactionTemplate.execute(status -> {
+            User user = bookingService.getCurrentUser();
+            WaitlistEntry found = waitlistEntryRepository.findById(java.util.Objects.requireNonNull(entryId))
+                    .filter(candidate -> candidate.getUser().getId().equals(user.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found: " + entryId));
+            if (waitlistEntryRepository.updateStatus(List.of(entryId), WaitlistEntry.Status.WAITING,
+                    WaitlistEntry.Status.CANCELLED) == 0) {
+                throw new BadRequestException("This waitlist entry is no longer waiting.");
+            }
+            return found;
+        });
+        SectionQueue queue = queues.get(new SectionKey(entry.getEvent().getId(), entry.getShowDate(),
+                entry.getSection().getId()));
+        if (queue != null) {
+            queue.lock.lock();
+            try {
+                if (queue.slots.removeIf(slot -> slot.entryId().equals(entryId))) {
+                    waiting.decrementAndGet();
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the current user's waiting and offered entries with their place
+     * in the queue. Offers whose booking was paid or released meanwhile are
+     * settled first, so they are not listed as open.
+     */
+    public List<WaitlistDto.EntryResponse> getMyEntries() {
+        User user = bookingService.getCurrentUser();
+        return transactionTemplate.execute(status -> {
+            waitlistEntryRepository.settleOffersOfUser(user.getId());
+            return waitlistEntryRepository
+                    .findByUser_IdAndStatusInOrderByJoinedAtDesc(user.getId(),
+                            EnumSet.of(WaitlistEntry.Status.WAITING, WaitlistEntry.Status.OFFERED))
+                    .stream()
+                    .map(this::mapToResponse)
+                    .toList();
+        });
+    }
+
+    /**
+     * Hands committed seat releases in sections with a queue to a matcher, and
+     * held seats of shows with open offers to a settlement. Runs on the
+     * releasing thread, so it only groups the seats.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        ShowKey show = new ShowKey(change.eventId(), change.showDate());
+        if (change.previous() == SeatsChangedEvent.SeatState.HELD && openOffers.contains(show)) {
+            matchers.execute(() -> settleOffers(show));
+        }
+        if (change.current() != SeatsChangedEvent.SeatState.FREE || queues.isEmpty()) {
+            return;
+        }
+        Map<SectionKey, List<SeatCoordinate>> freed = new HashMap<>();
+        for (SeatCoordinate seat : change.seats()) {
+            SectionKey key = new SectionKey(change.eventId(), change.showDate(), seat.sectionId());
+            if (queues.containsKey(key)) {
+                freed.computeIfAbsent(key, ignored -> new ArrayList<>()).add(seat);
+            }
+        }
+        freed.forEach((key, seats) -> matchers.execute(() -> offer(key, seats)));
+    }
+
+    /**
+     * Offers freed seats to the queue head for as long as the remaining seats
+     * cover the head's party. Strictly first come, first served: a party that
+     * does not fit is not skipped, and the leftover seats go back on sale.
+     */
+    private void offer(SectionKey key, List<SeatCoordinate> freed) {
+        SectionQueue queue = queues.get(key);
+        if (queue == null) {
+            return;
+        }
+        if (showCancellationRepository.existsByEvent_IdAndShowDate(key.eventId(), key.showDate())) {
+            closeQueue(key, queue);
+            return;
+        }
+        List<SeatCoordinate> seats = freed.stream()
+                .sorted(Comparator.comparingInt(SeatCoordinate::row).thenComparingInt(SeatCoordinate::col))
+                .toList();
+        queue.lock.lock();
+        try {
+            int next = 0;
+            while (!queue.slots.isEmpty() && seats.size() - next >= queue.slots.peekFirst().quantity()) {
+                WaitlistSlot head = queue.slots.peekFirst();
+                List<SeatCoordinate> offered = seats.subList(next, next + head.quantity());
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> createOffer(head, offered)))) {
+                        next += head.quantity();
+                        offersMade.increment();
+                        openOffers.add(new ShowKey(key.eventId(), key.showDate()));
+                    }
+                } catch (SeatUnavailableException e) {
+                    // Someone bought the seats first; the head keeps its place
+                    offersMissed.increment();
+                    break;
+                } catch (RuntimeException e) {
+                    log.warn("Could not create waitlist offer for entry {}", head.entryId(), e);
+                    break;
+                }
+                queue.slots.pollFirst();
+                waiting.decrementAndGet();
+            }
+            if (queue.slots.isEmpty()) {
+                queue.closed = true;
+                queues.remove(key, queue);
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+    }
+
+    /**
+     * Holds the seats for the entry's user and tells them about it. Returns
+     * false when the entry stopped waiting in the meantime.
+     */
+    private boolean createOffer(WaitlistSlot slot, List<SeatCoordinate> seats) {
+        WaitlistEntry entry = waitlistEntryRepository.findById(slot.entryId()).orElse(null);
+        if (entry == null || entry.getStatus() != WaitlistEntry.Status.WAITING) {
+            return false;
+        }
+        Booking booking = bookingService.createOffer(entry.getUser(), entry.getEvent(), entry.getSection(),
+                entry.getShowDate(), seats, claimWindow);
+        entry.setStatus(WaitlistEntry.Status.OFFERED);
+        entry.setOfferedBookingId(booking.getId());
+        entry.setOfferedAt(LocalDateTime.now());
+        notificationService.sendNotification(entry.getUser(), "Seats opened up for " + entry.getEvent().getTitle()
+                + " on " + entry.getShowDate() + ". Pay for booking #" + booking.getId() + " by "
+                + booking.getHoldExpiresAt().format(TIME_FORMAT) + " to claim them; a payment that arrives later"
+                + " is refunded.");
+        return true;
+    }
+
+    /**
+     * Marks the show's offers claimed or expired once their booking is paid or
+     * released, and stops tracking the show when none are left open.
+     */
+    private void settleOffers(ShowKey show) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> waitlistEntryRepository.settleOffers(show.eventId(),
+                    show.showDate()));
+            openOffers.remove(show);
+            // An offer made meanwhile keeps the show tracked
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> waitlistEntryRepository
+                    .existsByEvent_IdAndShowDateAndStatus(show.eventId(), show.showDate(),
+                            WaitlistEntry.Status.OFFERED)))) {
+                openOffers.add(show);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not settle waitlist offers for event {} at {}", show.eventId(), show.showDate(), e);
+        }
+    }
+
+    /**
+     * Drops the queue of a cancelled show and marks its entries cancelled.
+     */
+    private void closeQueue(SectionKey key, SectionQueue queue) {
+        List<Long> entryIds;
+        queue.lock.lock();
+        try {
+            queue.closed = true;
+            queues.remove(key, queue);
+            entryIds = queue.slots.stream().map(WaitlistSlot::entryId).toList();
+            waiting.addAndGet(-entryIds.size());
+            queue.slots.clear();
+        } finally {
+            queue.lock.unlock();
+        }
+        if (!entryIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> waitlistEntryRepository.updateStatus(entryIds,
+                    WaitlistEntry.Status.WAITING, WaitlistEntry.Status.CANCELLED));
+        }
+    }
+
+    private void enqueue(WaitlistSlot slot) {
+        SectionKey key = new SectionKey(slot.eventId(), slot.showDate(), slot.sectionId());
+        while (true) {
+            SectionQueue queue = queues.computeIfAbsent(key, ignored -> new SectionQueue());
+            queue.lock.lock();
+            try {
+                if (!queue.closed) {
+                    queue.slots.addLast(slot);
+                    waiting.incrementAndGet();
+                    return;
+                }
+            } finally {
+                queue.lock.unlock();
+            }
+            queues.remove(key, queue);
+        }
+    }
+
+    private WaitlistDto.EntryResponse mapToResponse(WaitlistEntry entry) {
+        return WaitlistDto.EntryResponse.builder()
+                .id(entry.getId())
+                .eventId(entry.getEvent().getId())
+                .showDate(entry.getShowDate())
+                .sectionId(entry.getSection().getId())
+                .quantity(entry.getQuantity())
+                .status(entry.getStatus().name())
+                .position(entry.getStatus() == WaitlistEntry.Status.WAITING ? position(entry) : null)
+                .offeredBookingId(entry.getOfferedBookingId())
+                .joinedAt(entry.getJoinedAt())
+                .build();
+    }
+
+    private Integer position(WaitlistEntry entry) {
+        SectionQueue queue = queues.get(new SectionKey(entry.getEvent().getId(), entry.getShowDate(),
+                entry.getSection().getId()));
+        if (queue == null) {
+            return null;
+        }
+        queue.lock.lock();
+        try {
+            int position = 1;
+            for (WaitlistSlot slot : queue.slots) {
+                if (slot.entryId().equals(entry.getId())) {
+                    return position;
+                }
+                position++;
+            }
+        } finally {
+            queue.lock.unlock();
+        }
+        return null;
+    }
+
+    private record SectionKey(Long eventId, LocalDateTime showDate, Long sectionId) {
+    }
+
+    private record ShowKey(Long eventId, LocalDateTime showDate) {
+    }
+
+    /**
+     * Waiting slots of one section. Guarded by a {@link ReentrantLock} rather
+     * than a monitor because matching holds it across the offer transaction,
+     * and a virtual thread blocked on JDBC inside a monitor pins its carrier.
+     */
+    private static final class SectionQueue {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<WaitlistSlot> slots = new ArrayDeque<>();
+        private boolean closed;
+    }
+}
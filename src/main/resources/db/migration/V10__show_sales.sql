@@ -0,0 +1,20 @@
+-- Flyway Migration V10: Per-show sales summary
+-- Purpose: Hold the seats sold, seats held and revenue of every show section so organizer dashboards read one row per section instead of aggregating tickets.
+
+CREATE TABLE show_sales (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    show_date TIMESTAMP NOT NULL,
+    section_id BIGINT NOT NULL,
+    seats_sold BIGINT NOT NULL DEFAULT 0,
+    seats_held BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_show_sales_show_section UNIQUE (event_id, show_date, section_id),
+    CONSTRAINT fk_show_sales_event
+        FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_show_sales_section
+        FOREIGN KEY (section_id) REFERENCES event_sections(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE show_sales IS 'Incrementally maintained from committed seat changes; reconciled against tickets by a periodic job.';
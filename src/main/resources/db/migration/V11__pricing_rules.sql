@@ -0,0 +1,6 @@
+-- Flyway Migration V11: Dynamic pricing rules
+-- Purpose: Store each event's pricing rules, which adjust section prices by show occupancy, time to show, section and row.
+
+ALTER TABLE events ADD COLUMN pricing_rules TEXT;
+
+COMMENT ON COLUMN events.pricing_rules IS 'JSON array of pricing rules applied in order to section prices; NULL sells at section prices.';
@@ -0,0 +1,13 @@
+-- Flyway Migration V12: Keyset pagination of event listings
+-- Purpose: Back the (start_date, id) ordered listings so each page is an index range scan, whatever its depth.
+
+DROP INDEX IF EXISTS idx_events_start_date;
+CREATE INDEX idx_events_start_date_id ON events(start_date, id);
+
+-- Category listings filter on category and page in the same order.
+DROP INDEX IF EXISTS idx_events_category;
+CREATE INDEX idx_events_category_start_date_id ON events(category, start_date, id);
+
+-- Serves both the group listing and the MIN(id) per group subquery of the public catalogue.
+DROP INDEX IF EXISTS idx_events_group_id;
+CREATE INDEX idx_events_group_id_id ON events(group_id, id);
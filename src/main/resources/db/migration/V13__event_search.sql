@@ -0,0 +1,56 @@
+-- Flyway Migration V13: Full-text event search
+-- Purpose: Keep a weighted search document per event over its title, cast, venue and description, indexed for text queries.
+
+ALTER TABLE events ADD COLUMN search_vector TSVECTOR;
+
+-- Title ranks above cast and venue, which rank above the description.
+CREATE FUNCTION event_search_vector(p_event_id BIGINT, p_title TEXT, p_description TEXT, p_venue TEXT)
+RETURNS TSVECTOR
+LANGUAGE sql STABLE AS $$
+    SELECT setweight(to_tsvector('english', coalesce(p_title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(
+               (SELECT string_agg(cast_name, ' ') FROM event_cast WHERE event_id = p_event_id), '')), 'B')
+        || setweight(to_tsvector('english', coalesce(p_venue, '')), 'B')
+        || setweight(to_tsvector('english', coalesce(p_description, '')), 'C')
+$$;
+
+CREATE FUNCTION events_set_search_vector() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector := event_search_vector(NEW.id, NEW.title, NEW.description, NEW.venue);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_events_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, venue ON events
+    FOR EACH ROW EXECUTE FUNCTION events_set_search_vector();
+
+-- Cast changes rebuild the document of each affected event once per statement.
+CREATE FUNCTION event_cast_refresh_search_vector() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE events e
+    SET search_vector = event_search_vector(e.id, e.title, e.description, e.venue)
+    WHERE e.id IN (SELECT DISTINCT event_id FROM changed_cast);
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_event_cast_insert_search_vector
+    AFTER INSERT ON event_cast REFERENCING NEW TABLE AS changed_cast
+    FOR EACH STATEMENT EXECUTE FUNCTION event_cast_refresh_search_vector();
+
+CREATE TRIGGER trg_event_cast_update_search_vector
+    AFTER UPDATE ON event_cast REFERENCING NEW TABLE AS changed_cast
+    FOR EACH STATEMENT EXECUTE FUNCTION event_cast_refresh_search_vector();
+
+CREATE TRIGGER trg_event_cast_delete_search_vector
+    AFTER DELETE ON event_cast REFERENCING OLD TABLE AS changed_cast
+    FOR EACH STATEMENT EXECUTE FUNCTION event_cast_refresh_search_vector();
+
+UPDATE events SET search_vector = event_search_vector(id, title, description, venue);
+
+CREATE INDEX idx_events_search_vector ON events USING GIN (search_vector);
+
+COMMENT ON COLUMN events.search_vector IS 'Weighted full-text document of title, cast, venue and description; maintained by triggers.';
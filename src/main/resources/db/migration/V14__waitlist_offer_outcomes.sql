@@ -0,0 +1,12 @@
+-- Flyway Migration V14: Waitlist offer outcomes
+-- Purpose: Close offered waitlist entries once their booking is paid or its hold ends, and find open offers per show.
+
+-- Offers made before outcomes were recorded.
+UPDATE waitlist_entries w
+SET status = CASE WHEN b.payment_status IN ('COMPLETED', 'REFUNDED') THEN 'CLAIMED' ELSE 'EXPIRED' END
+FROM bookings b
+WHERE w.status = 'OFFERED'
+  AND b.id = w.offered_booking_id
+  AND b.payment_status <> 'PENDING';
+
+CREATE INDEX idx_waitlist_entries_offered ON waitlist_entries(event_id, show_date) WHERE status = 'OFFERED';
@@ -0,0 +1,19 @@
+-- Flyway Migration V2: Time-limited seat holds for pending bookings
+-- Purpose: Let unpaid bookings hold seats only until a deadline and keep held seats unique per show.
+
+-- Deadline after which a pending booking's held seats are released.
+ALTER TABLE bookings ADD COLUMN hold_expires_at TIMESTAMP;
+
+-- Held seats must block other bookings exactly like booked seats.
+DROP INDEX IF EXISTS idx_unique_ticket_seat;
+CREATE UNIQUE INDEX idx_unique_ticket_seat
+ON tickets(event_id, show_date, section_id, row_number, col_number)
+WHERE status IN ('HELD', 'BOOKED');
+
+-- Lets the expiry sweeper find overdue holds without scanning completed bookings.
+CREATE INDEX idx_bookings_pending_hold_expiry
+ON bookings(hold_expires_at)
+WHERE payment_status = 'PENDING';
+
+COMMENT ON COLUMN bookings.hold_expires_at IS 'Time at which the seats held by a pending booking are released.';
+COMMENT ON COLUMN tickets.status IS 'Ticket state, for example HELD, BOOKED, CANCELLED, or USED.';
@@ -0,0 +1,9 @@
+-- Flyway Migration V3: High-demand flag for the virtual waiting room
+-- Purpose: Mark events whose booking endpoints require an admission pass.
+
+ALTER TABLE events ADD COLUMN high_demand BOOLEAN NOT NULL DEFAULT false;
+
+-- Small partial index; the waiting room loads the flagged ids at startup.
+CREATE INDEX idx_events_high_demand ON events(id) WHERE high_demand = true;
+
+COMMENT ON COLUMN events.high_demand IS 'When true, booking traffic for the event is admitted through the waiting room.';
@@ -0,0 +1,23 @@
+-- Flyway Migration V4: Idempotency keys for retried client requests
+-- Purpose: Remember the first successful response per client-supplied key so retries are replayed, not re-executed.
+
+CREATE TABLE idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    scope VARCHAR(100) NOT NULL,
+    owner VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- One claim per key and caller; concurrent claims on other nodes lose the insert.
+CREATE UNIQUE INDEX idx_idempotency_keys_unique ON idempotency_keys(scope, owner, idempotency_key);
+
+-- Lets the cleanup job delete expired keys without a full scan.
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+COMMENT ON COLUMN idempotency_keys.status_code IS 'HTTP status of the stored response; NULL while the first request is still running.';
+COMMENT ON COLUMN idempotency_keys.request_hash IS 'SHA-256 of the request body, used to reject a key reused for a different request.';
@@ -0,0 +1,5 @@
+-- Flyway Migration V5: Pooled ticket id allocation
+-- Purpose: Let Hibernate reserve ticket ids in blocks of 50 so ticket inserts can be JDBC-batched.
+
+-- Must match allocationSize on Ticket.id; the column default keeps working for manual inserts.
+ALTER SEQUENCE tickets_id_seq INCREMENT BY 50;
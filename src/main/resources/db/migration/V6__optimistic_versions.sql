@@ -0,0 +1,5 @@
+-- Flyway Migration V6: Optimistic versions for bookings and payments
+-- Purpose: Let payment state transitions detect concurrent writers instead of overwriting each other.
+
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
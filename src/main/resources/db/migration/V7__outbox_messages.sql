@@ -0,0 +1,23 @@
+-- Flyway Migration V7: Transactional outbox
+-- Purpose: Record side effects (emails, notifications) in the same transaction as the business change
+-- so a background dispatcher can deliver them after commit without losing any on a crash.
+
+CREATE TABLE outbox_messages (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP,
+    last_error TEXT
+);
+
+-- The dispatcher only ever scans due pending rows in order.
+CREATE INDEX idx_outbox_messages_pending ON outbox_messages(available_at, id) WHERE status = 'PENDING';
+
+-- Lets the cleanup job delete delivered rows without a full scan.
+CREATE INDEX idx_outbox_messages_processed_at ON outbox_messages(processed_at) WHERE status = 'DONE';
+
+COMMENT ON COLUMN outbox_messages.available_at IS 'Earliest time the row may be claimed; pushed forward as a lease while a dispatcher works on it and as backoff after a failure.';
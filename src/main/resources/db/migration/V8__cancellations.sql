@@ -0,0 +1,17 @@
+-- Flyway Migration V8: Booking and show cancellations
+-- Purpose: Keep the gateway reference needed for refunds and record cancelled shows so they cannot be booked again.
+
+ALTER TABLE payments ADD COLUMN transaction_reference VARCHAR(255);
+
+CREATE TABLE show_cancellations (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    show_date TIMESTAMP NOT NULL,
+    reason VARCHAR(255),
+    cancelled_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_show_cancellations_event_show UNIQUE (event_id, show_date),
+    CONSTRAINT fk_show_cancellations_event
+        FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+COMMENT ON COLUMN payments.transaction_reference IS 'Gateway id of the captured payment (Stripe PaymentIntent); NULL for payments taken outside Stripe.';
@@ -0,0 +1,31 @@
+-- Flyway Migration V9: Waitlist for sold-out sections
+-- Purpose: Persist the in-memory FIFO waitlists so they survive a restart, and record which booking each offer became.
+
+CREATE TABLE waitlist_entries (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    show_date TIMESTAMP NOT NULL,
+    section_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    joined_at TIMESTAMP NOT NULL,
+    offered_booking_id BIGINT,
+    offered_at TIMESTAMP,
+    CONSTRAINT fk_waitlist_entries_user
+        FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_entries_event
+        FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_entries_section
+        FOREIGN KEY (section_id) REFERENCES event_sections(id) ON DELETE CASCADE
+);
+
+-- A user waits at most once per show and section.
+CREATE UNIQUE INDEX idx_waitlist_entries_active
+ON waitlist_entries(user_id, event_id, show_date, section_id)
+WHERE status = 'WAITING';
+
+-- Restores the queues in join order on startup.
+CREATE INDEX idx_waitlist_entries_waiting ON waitlist_entries(id) WHERE status = 'WAITING';
+
+CREATE INDEX idx_waitlist_entries_user_id ON waitlist_entries(user_id);
@@ -0,0 +1,74 @@
+package com.hemanthjangam.event_mate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base for tests that run the application on an embedded Postgres and count
+ * the JDBC statements Hibernate prepares. Scheduled jobs are stopped so only
+ * the code under test touches the database while it is measured. Each test
+ * class closes its context when done, while the database is still running, so
+ * shutdown work such as flushing counters can finish.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.hemanthjangam.event_mate=INFO",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        // Only used to sign tokens inside the test
+        "application.security.jwt.secret-key=dGVzdC1vbmx5LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZHVjdGlvbi11c2UtMDAw"
+})
+@DirtiesContext
+public abstract class QueryCountTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTasks;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @BeforeEach
+    void stopScheduledJobs() {
+        scheduledTasks.getScheduledTasks().forEach(task -> task.cancel(false));
+    }
+
+    /**
+     * Runs the work and returns the number of statements it prepared.
+     */
+    protected long countStatements(Runnable work) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            // Stopped by the library's own shutdown hook
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the embedded Postgres.", e);
+        }
+    }
+}
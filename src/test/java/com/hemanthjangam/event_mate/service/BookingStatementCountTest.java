@@ -0,0 +1,113 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.QueryCountTest;
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.Role;
+import com.hemanthjangam.event_mate.entity.User;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking validates all of its seats with set-based queries, so the number of
+ * statements per booking does not depend on how many seats it has.
+ */
+// Checks seats against the tickets table rather than the in-memory inventory
+@TestPropertySource(properties = "app.booking.seat-inventory.enabled=false")
+class BookingStatementCountTest extends QueryCountTest {
+
+    private static final LocalTime SHOW_TIME = LocalTime.of(19, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+    private EventSection section;
+
+    @BeforeEach
+    void setUp() {
+        String runId = UUID.randomUUID().toString();
+        User customer = userRepository.save(User.builder()
+                .name("Statement Count")
+                .email("statements-" + runId + "@test.local")
+                .passwordHash("unused")
+                .role(Role.CUSTOMER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(customer.getEmail(), null, customer.getAuthorities()));
+
+        Event created = Event.builder()
+                .title("Statement Count " + runId)
+                .venue("Test Hall")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(1))
+                .showTimes(List.of(SHOW_TIME))
+                .price(new BigDecimal("100.00"))
+                .category("Movies")
+                .build();
+        created.setSections(List.of(EventSection.builder()
+                .name("Hall")
+                .price(new BigDecimal("100.00"))
+                .rows(10)
+                .cols(20)
+                .event(created)
+                .build()));
+        event = eventRepository.save(created);
+        section = event.getSections().get(0);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bookingManySeatsPreparesAsManyStatementsAsBookingOne() {
+        // Ticket ids come from a pooled sequence whose first two blocks are fetched by the first bookings;
+        // the block fetched then covers every seat booked below
+        book(1, 1);
+        book(2, 1);
+
+        long oneSeat = countStatements(() -> book(3, 1));
+        long manySeats = countStatements(() -> book(4, 20));
+
+        assertThat(oneSeat).isPositive();
+        assertThat(manySeats).isEqualTo(oneSeat);
+    }
+
+    private void book(int row, int seats) {
+        List<BookingDto.TicketRequest> tickets = new ArrayList<>(seats);
+        for (int col = 1; col <= seats; col++) {
+            tickets.add(BookingDto.TicketRequest.builder().sectionId(section.getId()).row(row).col(col).build());
+        }
+        bookingService.createBooking(BookingDto.BookingRequest.builder()
+                .eventId(event.getId())
+                .showDate(LocalDateTime.of(event.getStartDate(), SHOW_TIME))
+                .tickets(tickets)
+                .build());
+    }
+}
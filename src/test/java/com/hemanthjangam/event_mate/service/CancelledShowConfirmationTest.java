@@ -0,0 +1,161 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.QueryCountTest;
+import com.hemanthjangam.event_mate.dto.BookingDto;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.entity.PaymentStatus;
+import com.hemanthjangam.event_mate.entity.Role;
+import com.hemanthjangam.event_mate.entity.ShowCancellation;
+import com.hemanthjangam.event_mate.entity.Ticket;
+import com.hemanthjangam.event_mate.entity.User;
+import com.hemanthjangam.event_mate.exception.BadRequestException;
+import com.hemanthjangam.event_mate.repository.BookingRepository;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import com.hemanthjangam.event_mate.repository.PaymentRepository;
+import com.hemanthjangam.event_mate.repository.ShowCancellationRepository;
+import com.hemanthjangam.event_mate.repository.TicketRepository;
+import com.hemanthjangam.event_mate.repository.UserRepository;
+import com.stripe.model.checkout.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A pending booking that slipped past its show's cancellation is failed and
+ * its seats freed when payment is confirmed, and a Stripe payment for it is
+ * refunded.
+ */
+class CancelledShowConfirmationTest extends QueryCountTest {
+
+    private static final LocalTime SHOW_TIME = LocalTime.of(19, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ShowCancellationRepository showCancellationRepository;
+
+    private Event event;
+    private LocalDateTime showDate;
+
+    @BeforeEach
+    void setUp() {
+        String runId = UUID.randomUUID().toString();
+        User customer = userRepository.save(User.builder()
+                .name("Cancelled Show")
+                .email("cancelled-" + runId + "@test.local")
+                .passwordHash("unused")
+                .role(Role.CUSTOMER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(customer.getEmail(), null, customer.getAuthorities()));
+
+        Event created = Event.builder()
+                .title("Cancelled Show " + runId)
+                .venue("Test Hall")
+                .startDate(LocalDate.now().plusDays(1))
+                .endDate(LocalDate.now().plusDays(1))
+                .showTimes(List.of(SHOW_TIME))
+                .price(new BigDecimal("100.00"))
+                .category("Movies")
+                .build();
+        created.setSections(List.of(EventSection.builder()
+                .name("Hall")
+                .price(new BigDecimal("100.00"))
+                .rows(5)
+                .cols(10)
+                .event(created)
+                .build()));
+        event = eventRepository.save(created);
+        showDate = LocalDateTime.of(event.getStartDate(), SHOW_TIME);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void confirmingReleasesTheBooking() {
+        Long bookingId = bookThenCancelShow();
+
+        assertThatThrownBy(() -> bookingService.confirmBookingPayment(bookingId, "CARD"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("cancelled");
+
+        assertReleased(bookingId);
+    }
+
+    @Test
+    void stripePaymentIsRefunded() {
+        Long bookingId = bookThenCancelShow();
+        Session session = new Session();
+        session.setPaymentStatus("paid");
+        session.setPaymentIntent("pi_test_" + bookingId);
+        session.setMetadata(Map.of("booking_id", bookingId.toString()));
+
+        assertThat(bookingService.confirmStripeCheckoutSession(bookingId, session)).isFalse();
+
+        assertReleased(bookingId);
+        assertThat(paymentRepository.findByBookingId(bookingId))
+                .hasValueSatisfying(payment -> assertThat(payment.getStatus()).isEqualTo(PaymentStatus.REFUNDED));
+    }
+
+    /**
+     * Books two seats and then records the show's cancellation directly, as if
+     * the booking had committed after the cancellation looked for bookings.
+     */
+    private Long bookThenCancelShow() {
+        Long sectionId = event.getSections().get(0).getId();
+        Long bookingId = bookingService.createBooking(BookingDto.BookingRequest.builder()
+                .eventId(event.getId())
+                .showDate(showDate)
+                .tickets(List.of(
+                        BookingDto.TicketRequest.builder().sectionId(sectionId).row(1).col(1).build(),
+                        BookingDto.TicketRequest.builder().sectionId(sectionId).row(1).col(2).build()))
+                .build()).getBookingId();
+        showCancellationRepository.save(ShowCancellation.builder()
+                .event(event)
+                .showDate(showDate)
+                .reason("Test")
+                .cancelledAt(LocalDateTime.now())
+                .build());
+        return bookingId;
+    }
+
+    private void assertReleased(Long bookingId) {
+        assertThat(bookingRepository.findPaymentStatusById(bookingId)).contains(PaymentStatus.FAILED);
+        assertThat(ticketRepository.countByBooking_IdAndStatus(bookingId, Ticket.TicketStatus.HELD)).isZero();
+        assertThat(ticketRepository.countByBooking_IdAndStatus(bookingId, Ticket.TicketStatus.CANCELLED)).isEqualTo(2);
+    }
+}
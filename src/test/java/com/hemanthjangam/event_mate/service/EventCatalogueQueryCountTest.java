@@ -0,0 +1,102 @@
+package com.hemanthjangam.event_mate.service;
+
+import com.hemanthjangam.event_mate.QueryCountTest;
+import com.hemanthjangam.event_mate.entity.Event;
+import com.hemanthjangam.event_mate.entity.EventSection;
+import com.hemanthjangam.event_mate.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalogue lists load events and their collections with a fixed number of
+ * queries, whether a page holds one event or a hundred.
+ */
+class EventCatalogueQueryCountTest extends QueryCountTest {
+
+    private static final int[] PAGE_SIZES = {1, 10, 100};
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String category;
+    private List<Long> eventIds;
+
+    @BeforeEach
+    void setUp() {
+        category = "Query Count " + UUID.randomUUID();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Dated before every other event so the admin list starts with these
+            LocalDate startDate = LocalDate.of(2000, 1, 1).plusDays(i);
+            Event event = Event.builder()
+                    .title("Query Count " + i)
+                    .venue("Test Hall")
+                    .startDate(startDate)
+                    .endDate(startDate.plusDays(3))
+                    .showTimes(new ArrayList<>(List.of(LocalTime.of(14, 0), LocalTime.of(19, 0))))
+                    .mediaUrls(new ArrayList<>(List.of("https://example.test/" + i + ".jpg")))
+                    .cast(new ArrayList<>(List.of("Lead " + i, "Support " + i)))
+                    .price(new BigDecimal("100.00"))
+                    .category(category)
+                    .build();
+            event.setSections(new ArrayList<>(List.of(section(event, "Gold"), section(event, "Silver"))));
+            events.add(event);
+        }
+        eventIds = eventRepository.saveAll(events).stream().map(Event::getId).toList();
+    }
+
+    @Test
+    void mapAllToDtoQueryCountDoesNotGrowWithEvents() {
+        assertConstant(size -> transactionTemplate.execute(status -> {
+            List<Event> events = eventRepository.findAllById(eventIds.subList(0, size));
+            return countStatements(() -> assertThat(eventService.mapAllToDto(events)).hasSize(size));
+        }));
+    }
+
+    @Test
+    void adminListQueryCountDoesNotGrowWithEvents() {
+        assertConstant(size -> countStatements(() ->
+                assertThat(eventService.getAllEventsAdmin(null, size, false).items()).hasSize(size)));
+    }
+
+    @Test
+    void categorySearchQueryCountDoesNotGrowWithEvents() {
+        // Every page size is its own cache entry, so each call loads from the database
+        assertConstant(size -> countStatements(() ->
+                assertThat(eventService.searchEvents(category, null, size, false).items()).hasSize(size)));
+    }
+
+    private void assertConstant(PageQuery query) {
+        List<Long> counts = new ArrayList<>();
+        for (int size : PAGE_SIZES) {
+            counts.add(query.statements(size));
+        }
+        assertThat(counts.get(0)).isPositive();
+        assertThat(counts).as("statements for pages of 1, 10 and 100 events").containsOnly(counts.get(0));
+    }
+
+    private static EventSection section(Event event, String name) {
+        return EventSection.builder().name(name).price(new BigDecimal("100.00")).rows(10).cols(10).event(event).build();
+    }
+
+    private interface PageQuery {
+        long statements(int size);
+    }
+}